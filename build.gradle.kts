@@ -11,6 +11,7 @@ buildscript {
 
 plugins {
     id("application")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -125,6 +126,19 @@ dependencies {
     implementation("jakarta.inject:jakarta.inject-api:2.0.1")
     implementation("com.google.dagger:dagger:2.57.2")
     annotationProcessor("com.google.dagger:dagger-compiler:2.57.2")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.3"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+// Benchmarks live in src/jmh/java; run them with ./gradlew jmh.
+jmh {
+    jmhVersion.set("1.37")
 }
 
 java {
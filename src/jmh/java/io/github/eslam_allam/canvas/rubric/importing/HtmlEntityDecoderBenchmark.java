@@ -0,0 +1,76 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.text.StringEscapeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Decodes a batch of rubric-like cells with HtmlEntityDecoder and with StringEscapeUtils.unescapeHtml4. "plain"
+// cells have no '&', as most rubric text does; "entities" cells carry named and numeric entities.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HtmlEntityDecoderBenchmark {
+
+    private static final String[] WORDS = {
+        "Excellent", "work", "meets", "all", "requirements", "partially", "code", "is", "readable", "tests", "cover",
+        "the", "edge", "cases", "documentation", "missing"
+    };
+
+    private static final String[] ENTITIES = {
+        "&amp;", "&lt;", "&gt;", "&quot;", "&eacute;", "&nbsp;", "&#39;", "&#x2014;"
+    };
+
+    @Param({"plain", "entities"})
+    public String text;
+
+    private String[] cells;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        this.cells = new String[1024];
+        for (int i = 0; i < this.cells.length; i++) {
+            StringBuilder cell = new StringBuilder();
+            int words = 4 + random.nextInt(20);
+            for (int j = 0; j < words; j++) {
+                if (j > 0) {
+                    cell.append(' ');
+                }
+                cell.append(WORDS[random.nextInt(WORDS.length)]);
+                if (this.text.equals("entities") && random.nextInt(4) == 0) {
+                    cell.append(ENTITIES[random.nextInt(ENTITIES.length)]);
+                }
+            }
+            this.cells[i] = cell.toString();
+        }
+    }
+
+    @Benchmark
+    public void htmlEntityDecoder(Blackhole blackhole) {
+        for (String cell : this.cells) {
+            blackhole.consume(HtmlEntityDecoder.decode(cell));
+        }
+    }
+
+    @Benchmark
+    public void commonsText(Blackhole blackhole) {
+        for (String cell : this.cells) {
+            blackhole.consume(StringEscapeUtils.unescapeHtml4(cell));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.csv.CsvRubricParser;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Per-row cost of keeping every criterion of a rubric bank with and without the string pool, i.e. what pooling
+// the rating cells costs on the sequential path. Run with -prof gc to see allocation per row; the memory it
+// saves is retained heap, which StringPoolTest checks by counting the String instances the criteria hold.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StringPoolBenchmark {
+
+    private static final int ROWS = 2_000;
+
+    @Param({"true", "false"})
+    public boolean pooled;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder(
+                "criterion,criterion_desc,rating1,rating1_points,rating1_desc,rating2,rating2_points,rating2_desc\n");
+        for (int row = 0; row < ROWS; row++) {
+            text.append("Criterion ")
+                    .append(row)
+                    .append(",Describes criterion ")
+                    .append(row)
+                    .append(",Full marks,5,Meets every requirement,No marks,0,Does not meet the requirements\n");
+        }
+        this.csv = text.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<RubricModels.Criterion> parse() throws IOException {
+        RubricParseOptions options = this.pooled
+                ? RubricParseOptions.of(true)
+                : new RubricParseOptions(true, false, StringPool.disabled());
+        List<RubricModels.Criterion> criteria = new ArrayList<>(ROWS);
+        CsvRubricParser.parse(new StringReader(this.csv), options, criteria::add);
+        return criteria;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Per-row cost of CsvRubricParser for the same rows under a narrow and a wide header. Every row fills two rating
+// groups; "short" rows stop there, "padded" rows carry empty cells for the header's other groups, as exported
+// sheets do. With the header resolved once per file, short rows should cost the same at either width.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CsvRowWidthBenchmark {
+
+    private static final int ROWS = 2_000;
+
+    @Param({"2", "12"})
+    public int ratingGroups;
+
+    @Param({"short", "padded"})
+    public String rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder("criterion,criterion_desc");
+        for (int group = 1; group <= this.ratingGroups; group++) {
+            text.append(",rating").append(group);
+            text.append(",rating").append(group).append("_points");
+            text.append(",rating").append(group).append("_desc");
+        }
+        text.append('\n');
+        String padding = this.rows.equals("padded") ? ",,,".repeat(this.ratingGroups - 2) : "";
+        for (int row = 0; row < ROWS; row++) {
+            text.append("Criterion ")
+                    .append(row)
+                    .append(",Describes criterion ")
+                    .append(row)
+                    .append(",Full marks,5,Meets every requirement,No marks,0,Does not meet the requirements")
+                    .append(padding)
+                    .append('\n');
+        }
+        this.csv = text.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public RubricParseReport parse(Blackhole blackhole) throws IOException {
+        return CsvRubricParser.parse(
+                new StringReader(this.csv), new RubricParseOptions(true, false), blackhole::consume);
+    }
+}
@@ -0,0 +1,400 @@
+package io.github.eslam_allam.canvas.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.eslam_allam.canvas.client.CanvasClient;
+import io.github.eslam_allam.canvas.client.RubricDeduplicator;
+import io.github.eslam_allam.canvas.model.canvas.Assignment;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import io.github.eslam_allam.canvas.rubric.importing.RubricFingerprint;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSource;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSources;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+// Creates one rubric per manifest row in a single run. Every row is handled on its own virtual thread: inputs
+// are parsed in parallel (each distinct file once) and Canvas calls share one client, with at most
+// `concurrency` rows talking to Canvas at a time. One JSON line per row is written to the report as rows finish.
+// With a journal, rows already created by an earlier run are skipped, and rows whose earlier attempt failed or
+// was cut off are first checked against the assignment so a re-run never creates the same rubric twice.
+final class BatchImport {
+
+    // Options a manifest row may leave out; they fall back to the command-line values.
+    record Defaults(
+            boolean freeFormComments,
+            boolean useForGrading,
+            boolean hideScoreTotal,
+            String purpose,
+            boolean syncAssignmentPoints,
+            boolean decodeHtml) {}
+
+    // line is the row's 1-based position in the manifest (data rows only) and identifies it in the report.
+    record ManifestRow(
+            int line,
+            String courseId,
+            String assignmentId,
+            String title,
+            Path input,
+            String format,
+            String criteria,
+            boolean freeFormComments,
+            boolean useForGrading,
+            boolean hideScoreTotal,
+            String purpose,
+            boolean syncAssignmentPoints) {}
+
+    private record InputKey(Path input, String format, String criteria, boolean decodeHtml) {}
+
+    private final CanvasClient client;
+    private final RubricDeduplicator deduplicator;
+    private final JobJournal journal;
+    private final ObjectMapper objectMapper;
+    private final Defaults defaults;
+    private final boolean dryRun;
+    private final Semaphore canvasPermits;
+    private final Semaphore parsePermits;
+    private final ConcurrentHashMap<InputKey, CompletableFuture<ParsedRubric>> parsedInputs;
+
+    // deduplicator and journal are optional.
+    BatchImport(
+            CanvasClient client,
+            RubricDeduplicator deduplicator,
+            JobJournal journal,
+            Defaults defaults,
+            int concurrency,
+            boolean dryRun) {
+        this.client = client;
+        this.deduplicator = deduplicator;
+        this.journal = journal;
+        this.objectMapper = new ObjectMapper();
+        this.defaults = defaults;
+        this.dryRun = dryRun;
+        this.canvasPermits = new Semaphore(Math.max(1, concurrency));
+        this.parsePermits = new Semaphore(Runtime.getRuntime().availableProcessors());
+        this.parsedInputs = new ConcurrentHashMap<>();
+    }
+
+    // Reads a CSV manifest with a header row, or a JSON array of objects (optionally under "rubrics"). Relative
+    // input paths are resolved against the manifest's directory.
+    List<ManifestRow> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<Map<String, String>> rows = new ArrayList<>();
+        if (manifest.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+            JsonNode root = this.objectMapper.readTree(manifest.toFile());
+            JsonNode items = root.isArray() ? root : root.path("rubrics");
+            if (!items.isArray()) {
+                throw new IllegalArgumentException("Manifest JSON must be an array of rubric objects.");
+            }
+            for (JsonNode item : items) {
+                Map<String, String> row = new HashMap<>();
+                item.fields().forEachRemaining(field -> row.put(field.getKey(), field.getValue().asText()));
+                rows.add(row);
+            }
+        } else {
+            try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8);
+                    CSVParser parser = CSVFormat.DEFAULT
+                            .builder()
+                            .setHeader()
+                            .setSkipHeaderRecord(true)
+                            .setTrim(true)
+                            .build()
+                            .parse(reader)) {
+                for (CSVRecord record : parser) {
+                    rows.add(record.toMap());
+                }
+            }
+        }
+
+        List<ManifestRow> manifestRows = new ArrayList<>(rows.size());
+        // Rows are journaled by course, assignment and title, so two rows with the same ones would run at the same
+        // time and overwrite each other's progress.
+        Map<String, Integer> lineByUnit = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ManifestRow row = toRow(i + 1, rows.get(i), base);
+            Integer first = lineByUnit.putIfAbsent(
+                    JobJournal.unit(row.courseId(), row.assignmentId(), row.title()), row.line());
+            if (first != null) {
+                throw new IllegalArgumentException("Manifest rows " + first + " and " + row.line()
+                        + " have the same course_id, assignment_id and title.");
+            }
+            manifestRows.add(row);
+        }
+        return manifestRows;
+    }
+
+    private ManifestRow toRow(int line, Map<String, String> row, Path base) {
+        String input = required(row, "input", line);
+        return new ManifestRow(
+                line,
+                required(row, "course_id", line),
+                required(row, "assignment_id", line),
+                required(row, "title", line),
+                base.resolve(input).normalize(),
+                optional(row, "format"),
+                optional(row, "criteria"),
+                flag(row, "free_form_comments", this.defaults.freeFormComments()),
+                flag(row, "use_for_grading", this.defaults.useForGrading()),
+                flag(row, "hide_score_total", this.defaults.hideScoreTotal()),
+                row.getOrDefault("purpose", "").isBlank() ? this.defaults.purpose() : row.get("purpose"),
+                flag(row, "sync_assignment_points", this.defaults.syncAssignmentPoints()));
+    }
+
+    // Runs every row and returns how many failed.
+    int run(List<ManifestRow> rows, Writer report) throws IOException, InterruptedException {
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(rows.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ManifestRow row : rows) {
+                futures.add(executor.submit(() -> {
+                    ObjectNode result = importRow(row);
+                    if (result.has("error")) {
+                        failures.incrementAndGet();
+                    }
+                    writeLine(report, result);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof IOException ioException) {
+                        throw ioException;
+                    }
+                    throw new IOException(ex.getCause());
+                }
+            }
+        }
+        return failures.get();
+    }
+
+    private ObjectNode importRow(ManifestRow row) {
+        ObjectNode result = this.objectMapper.createObjectNode();
+        result.put("line", row.line());
+        result.put("course_id", row.courseId());
+        result.put("assignment_id", row.assignmentId());
+        result.put("title", row.title());
+        result.put("input", row.input().toString());
+        long started = System.nanoTime();
+        String unit = JobJournal.unit(row.courseId(), row.assignmentId(), row.title());
+        JobJournal.Entry previous = this.journal == null || this.dryRun ? null : this.journal.latest(unit);
+        try {
+            if (previous != null && previous.state() == JobJournal.State.DONE) {
+                result.put("status", "skipped");
+                putIds(result, previous.rubricId(), previous.associationId());
+                return finish(result, started);
+            }
+
+            ParsedRubric parsed = parse(row);
+            result.put("criteria", parsed.criteria().size());
+            result.put("points", parsed.totalPoints());
+            if (previous != null) {
+                Assignment existing = findExistingRubric(row, parsed);
+                if (existing != null) {
+                    Long rubricId = existing.rubricSettings() == null ? null : existing.rubricSettings().id();
+                    this.journal.record(new JobJournal.Entry(unit, JobJournal.State.DONE, rubricId, null, null));
+                    result.put("status", "reconciled");
+                    putIds(result, rubricId, null);
+                    return finish(result, started);
+                }
+            }
+
+            Map<String, String> formFields = this.client.buildFormFieldsForRubricCreate(
+                    row.title(),
+                    row.freeFormComments(),
+                    parsed.criteria(),
+                    Integer.parseInt(row.assignmentId()),
+                    row.useForGrading(),
+                    row.hideScoreTotal(),
+                    row.purpose());
+            if (this.dryRun) {
+                result.put("status", "dry_run");
+            } else {
+                RubricDeduplicator.Outcome outcome = push(unit, row, parsed, formFields);
+                RubricModels.Association association = outcome.created().rubricAssociation();
+                if (outcome.reused()) {
+                    // The existing rubric keeps its own title rather than the manifest's.
+                    result.put("status", "reused");
+                    result.put("rubric_title", outcome.created().rubric().title());
+                } else {
+                    result.put("status", "created");
+                }
+                if (association != null) {
+                    putIds(result, toLong(association.rubricId()), toLong(association.id()));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            result.put("status", "failed");
+            result.put("error", "Interrupted");
+        } catch (Exception ex) {
+            result.put("status", "failed");
+            result.put("error", errorMessage(ex));
+        }
+        return finish(result, started);
+    }
+
+    private static ObjectNode finish(ObjectNode result, long started) {
+        result.put("latency_ms", (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    private RubricDeduplicator.Outcome push(
+            String unit, ManifestRow row, ParsedRubric parsed, Map<String, String> formFields) throws Exception {
+        this.canvasPermits.acquire();
+        try {
+            if (this.journal != null) {
+                this.journal.record(new JobJournal.Entry(unit, JobJournal.State.INTENT, null, null, null));
+            }
+            RubricDeduplicator.Outcome outcome;
+            try {
+                if (row.syncAssignmentPoints()) {
+                    this.client.updateAssignmentPoints(row.courseId(), row.assignmentId(), parsed.totalPoints());
+                }
+                outcome = this.deduplicator == null
+                        ? new RubricDeduplicator.Outcome(this.client.createRubric(row.courseId(), formFields), false)
+                        : this.deduplicator.create(row.courseId(), parsed.criteria(), formFields);
+            } catch (Exception ex) {
+                if (this.journal != null) {
+                    this.journal.record(
+                            new JobJournal.Entry(unit, JobJournal.State.FAILED, null, null, errorMessage(ex)));
+                }
+                throw ex;
+            }
+            if (this.journal != null) {
+                RubricModels.Association association = outcome.created().rubricAssociation();
+                this.journal.record(new JobJournal.Entry(
+                        unit,
+                        JobJournal.State.DONE,
+                        association == null ? null : toLong(association.rubricId()),
+                        association == null ? null : toLong(association.id()),
+                        null));
+            }
+            return outcome;
+        } finally {
+            this.canvasPermits.release();
+        }
+    }
+
+    // The assignment, if an earlier, unconfirmed attempt already attached these criteria to it. Criteria rather
+    // than the title decide, since a reused rubric keeps its own title.
+    private Assignment findExistingRubric(ManifestRow row, ParsedRubric parsed) throws Exception {
+        this.canvasPermits.acquire();
+        try {
+            Assignment assignment = this.client.getAssignmentWithRubric(row.courseId(), row.assignmentId());
+            List<RubricModels.Criteria> rubric = assignment.rubric();
+            return rubric != null
+                            && !rubric.isEmpty()
+                            && RubricFingerprint.ofCanvas(rubric).equals(RubricFingerprint.of(parsed.criteria()))
+                    ? assignment
+                    : null;
+        } finally {
+            this.canvasPermits.release();
+        }
+    }
+
+    private static void putIds(ObjectNode result, Long rubricId, Long associationId) {
+        if (rubricId != null) {
+            result.put("rubric_id", rubricId);
+        }
+        if (associationId != null) {
+            result.put("association_id", associationId);
+        }
+    }
+
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+
+    private static String errorMessage(Exception ex) {
+        return ex.getMessage() == null ? ex.toString() : ex.getMessage();
+    }
+
+    // Rows that share an input reuse the first row's parse, including its failure.
+    private ParsedRubric parse(ManifestRow row) throws Exception {
+        InputKey key = new InputKey(row.input(), row.format(), row.criteria(), this.defaults.decodeHtml());
+        CompletableFuture<ParsedRubric> mine = new CompletableFuture<>();
+        CompletableFuture<ParsedRubric> existing = this.parsedInputs.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof Exception cause ? cause : ex;
+            }
+        }
+        this.parsePermits.acquire();
+        try {
+            ParsedRubric parsed = readInput(key);
+            mine.complete(parsed);
+            return parsed;
+        } catch (Exception ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.parsePermits.release();
+        }
+    }
+
+    private static ParsedRubric readInput(InputKey key) throws IOException {
+        RubricSource source = key.format() == null
+                ? RubricSources.forPath(key.input())
+                : RubricSources.byName(key.format())
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown format: " + key.format()));
+        if (key.criteria() == null) {
+            return RubricSources.parse(source, key.input(), key.decodeHtml());
+        }
+        if (!source.name().equals("csv")) {
+            throw new IllegalArgumentException("criteria needs a CSV rubric bank as input.");
+        }
+        return CliApp.parseSlice(key.input(), key.criteria(), key.decodeHtml());
+    }
+
+    private void writeLine(Writer report, ObjectNode result) throws IOException {
+        String line = this.objectMapper.writeValueAsString(result);
+        synchronized (report) {
+            report.write(line);
+            report.write('\n');
+            report.flush();
+        }
+    }
+
+    private static String required(Map<String, String> row, String column, int line) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Manifest row " + line + ": missing " + column + ".");
+        }
+        return value.trim();
+    }
+
+    private static String optional(Map<String, String> row, String column) {
+        String value = row.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static boolean flag(Map<String, String> row, String column, boolean fallback) {
+        String value = optional(row, column);
+        return value == null ? fallback : Boolean.parseBoolean(value);
+    }
+}
@@ -2,10 +2,36 @@ package io.github.eslam_allam.canvas.cli;
 
 import io.github.eslam_allam.canvas.client.CanvasClient;
 import io.github.eslam_allam.canvas.client.CanvasCredentialProvider;
+import io.github.eslam_allam.canvas.client.HttpClientSettings;
+import io.github.eslam_allam.canvas.client.ResponseCacheSettings;
+import io.github.eslam_allam.canvas.client.RubricDeduplicator;
+import io.github.eslam_allam.canvas.gui.CanvasRubricGuiApp;
 import io.github.eslam_allam.canvas.model.canvas.RubricModels;
-import io.github.eslam_allam.canvas.rubric.importing.csv.CsvRubricParser;
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricRowError;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSource;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSources;
+import io.github.eslam_allam.canvas.rubric.importing.RubricValidationException;
+import io.github.eslam_allam.canvas.rubric.importing.csv.RubricBank;
+import io.github.eslam_allam.canvas.service.CourseRubricCloner;
+import io.github.eslam_allam.canvas.service.CourseRubricExporter;
+import io.github.eslam_allam.canvas.service.PreferencesService;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class CliApp {
 
@@ -19,7 +45,19 @@ public final class CliApp {
         String courseId = null;
         String assignmentId = null;
         String title = null;
-        Path csvPath = null;
+        Path inputPath = null;
+        String inputFormat = null;
+        String criteriaGlob = null;
+        Path manifestPath = null;
+        Path reportPath = null;
+        Path journalPath = null;
+        List<String> exportCourses = null;
+        Path exportTarget = null;
+        boolean exportZip = false;
+        String cloneFrom = null;
+        String cloneTo = null;
+        CourseRubricCloner.MatchBy cloneMatch = CourseRubricCloner.MatchBy.NAME;
+        int batchConcurrency = 4;
         String token = System.getenv("CANVAS_TOKEN");
         boolean freeFormComments = true;
         boolean useForGrading = true;
@@ -27,6 +65,27 @@ public final class CliApp {
         String purpose = "grading";
         boolean syncAssignmentPoints = false;
         boolean dryRun = false;
+        boolean validateOnly = false;
+        boolean decodeHtml = true;
+        boolean saveHttpSettings = false;
+        boolean reuseRubrics = false;
+
+        PreferencesService preferences = new PreferencesService(CanvasRubricGuiApp.class);
+        HttpClientSettings saved = preferences.loadHttpClientSettings();
+        int maxConnectionsPerRoute = saved.maxConnectionsPerRoute();
+        int maxConnectionsTotal = saved.maxConnectionsTotal();
+        Duration connectTimeout = saved.connectTimeout();
+        Duration responseTimeout = saved.responseTimeout();
+        Duration socketTimeout = saved.socketTimeout();
+        Duration connectionTimeToLive = saved.connectionTimeToLive();
+        Duration idleConnectionEviction = saved.idleConnectionEviction();
+        Duration validateAfterInactivity = saved.validateAfterInactivity();
+        Duration keepAlive = saved.keepAlive();
+        int pageConcurrency = saved.pageConcurrency();
+        ResponseCacheSettings savedCache = preferences.loadResponseCacheSettings();
+        Path cacheDirectory = savedCache.directory();
+        int cacheMaxEntries = savedCache.maxEntries();
+        long cacheMaxBytes = savedCache.maxBytes();
 
         for (int i = 0; i < args.length; i++) {
             switch (args[i]) {
@@ -34,7 +93,19 @@ public final class CliApp {
                 case "--course-id" -> courseId = args[++i];
                 case "--assignment-id" -> assignmentId = args[++i];
                 case "--title" -> title = args[++i];
-                case "--csv" -> csvPath = Path.of(args[++i]);
+                case "--input", "--csv" -> inputPath = Path.of(args[++i]);
+                case "--format" -> inputFormat = args[++i];
+                case "--criteria" -> criteriaGlob = args[++i];
+                case "--manifest" -> manifestPath = Path.of(args[++i]);
+                case "--report" -> reportPath = Path.of(args[++i]);
+                case "--journal" -> journalPath = Path.of(args[++i]);
+                case "--export-courses" -> exportCourses = List.of(args[++i].split(","));
+                case "--export-to" -> exportTarget = Path.of(args[++i]);
+                case "--zip" -> exportZip = true;
+                case "--clone-from" -> cloneFrom = args[++i];
+                case "--clone-to" -> cloneTo = args[++i];
+                case "--match" -> cloneMatch = CourseRubricCloner.MatchBy.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                case "--concurrency" -> batchConcurrency = Integer.parseInt(args[++i]);
                 case "--token" -> token = args[++i];
                 case "--free-form-comments" -> freeFormComments = Boolean.parseBoolean(args[++i]);
                 case "--use-for-grading" -> useForGrading = Boolean.parseBoolean(args[++i]);
@@ -42,6 +113,24 @@ public final class CliApp {
                 case "--purpose" -> purpose = args[++i];
                 case "--sync-assignment-points" -> syncAssignmentPoints = Boolean.parseBoolean(args[++i]);
                 case "--dry-run" -> dryRun = true;
+                case "--reuse" -> reuseRubrics = true;
+                case "--validate" -> validateOnly = true;
+                case "--no-html-decode" -> decodeHtml = false;
+                case "--max-connections-per-route" -> maxConnectionsPerRoute = Integer.parseInt(args[++i]);
+                case "--max-connections" -> maxConnectionsTotal = Integer.parseInt(args[++i]);
+                case "--connect-timeout" -> connectTimeout = parseDuration(args[++i]);
+                case "--response-timeout" -> responseTimeout = parseDuration(args[++i]);
+                case "--socket-timeout" -> socketTimeout = parseDuration(args[++i]);
+                case "--connection-ttl" -> connectionTimeToLive = parseDuration(args[++i]);
+                case "--idle-eviction" -> idleConnectionEviction = parseDuration(args[++i]);
+                case "--validate-after-inactivity" -> validateAfterInactivity = parseDuration(args[++i]);
+                case "--keep-alive" -> keepAlive = parseDuration(args[++i]);
+                case "--page-concurrency" -> pageConcurrency = Integer.parseInt(args[++i]);
+                case "--no-cache" -> cacheMaxEntries = 0;
+                case "--cache-dir" -> cacheDirectory = Path.of(args[++i]);
+                case "--cache-max-entries" -> cacheMaxEntries = Integer.parseInt(args[++i]);
+                case "--cache-max-mb" -> cacheMaxBytes = Long.parseLong(args[++i]) * 1024 * 1024;
+                case "--save-http-settings" -> saveHttpSettings = true;
                 default -> {
                     System.err.println("Unknown argument: " + args[i]);
                     printUsage();
@@ -50,41 +139,116 @@ public final class CliApp {
             }
         }
 
+        HttpClientSettings httpSettings = new HttpClientSettings(
+                maxConnectionsPerRoute,
+                maxConnectionsTotal,
+                connectTimeout,
+                responseTimeout,
+                socketTimeout,
+                connectionTimeToLive,
+                idleConnectionEviction,
+                validateAfterInactivity,
+                keepAlive,
+                pageConcurrency);
+        ResponseCacheSettings cacheSettings = new ResponseCacheSettings(cacheDirectory, cacheMaxEntries, cacheMaxBytes);
+        if (saveHttpSettings) {
+            preferences.saveHttpClientSettings(httpSettings);
+            preferences.saveResponseCacheSettings(cacheSettings);
+            System.out.println("Saved HTTP client settings.");
+            if (courseId == null
+                    && assignmentId == null
+                    && title == null
+                    && inputPath == null
+                    && manifestPath == null
+                    && exportCourses == null
+                    && cloneFrom == null) {
+                return;
+            }
+        }
+
+        RubricSource source = null;
+        if (inputPath != null) {
+            source = inputFormat == null
+                    ? RubricSources.forPath(inputPath)
+                    : RubricSources.byName(inputFormat).orElse(null);
+            if (source == null) {
+                System.err.println("Unknown --format: " + inputFormat);
+                System.exit(1);
+            }
+            if (criteriaGlob != null && !source.name().equals("csv")) {
+                System.err.println("--criteria needs a CSV rubric bank as --input.");
+                System.exit(1);
+            }
+        }
+
+        if (validateOnly) {
+            if (source == null) {
+                System.err.println("Missing --input for --validate.");
+                System.exit(1);
+            }
+            System.exit(validate(source, inputPath, criteriaGlob, decodeHtml));
+        }
+
         if (token == null || token.isBlank()) {
             System.err.println("Missing token (set CANVAS_TOKEN or pass --token).");
             System.exit(2);
         }
-        if (courseId == null || assignmentId == null || title == null || csvPath == null) {
+        if (cloneFrom != null || cloneTo != null) {
+            if (cloneFrom == null || cloneTo == null) {
+                System.err.println("--clone-from and --clone-to must be given together.");
+                System.exit(1);
+            }
+            CanvasClient client = newClient(token, baseUrl, httpSettings, cacheSettings);
+            CourseRubricCloner cloner = new CourseRubricCloner(
+                    client, reuseRubrics ? new RubricDeduplicator(client) : null, batchConcurrency);
+            System.exit(cloneCourse(cloner, cloneFrom, cloneTo, cloneMatch, dryRun));
+        }
+        if (exportCourses != null) {
+            System.exit(exportCourses(
+                    newClient(token, baseUrl, httpSettings, cacheSettings),
+                    exportCourses,
+                    exportTarget == null ? Path.of(".") : exportTarget,
+                    exportZip,
+                    batchConcurrency));
+        }
+        if (manifestPath != null) {
+            if (journalPath == null) {
+                journalPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".journal");
+            }
+            int exitCode;
+            // A dry run sends nothing to Canvas, so there is no progress to journal.
+            try (JobJournal journal = dryRun ? null : JobJournal.open(journalPath)) {
+                CanvasClient client = newClient(token, baseUrl, httpSettings, cacheSettings);
+                BatchImport batch = new BatchImport(
+                        client,
+                        reuseRubrics ? new RubricDeduplicator(client) : null,
+                        journal,
+                        new BatchImport.Defaults(
+                                freeFormComments,
+                                useForGrading,
+                                hideScoreTotal,
+                                purpose,
+                                syncAssignmentPoints,
+                                decodeHtml),
+                        batchConcurrency,
+                        dryRun);
+                exitCode = runBatch(batch, manifestPath, reportPath);
+            }
+            System.exit(exitCode);
+        }
+        if (courseId == null || assignmentId == null || title == null || source == null) {
             System.err.println("Missing required arguments.");
             printUsage();
             System.exit(1);
         }
 
-        boolean decodeHtml = true;
-        for (String arg : args) {
-            if ("--no-html-decode".equals(arg)) {
-                decodeHtml = false;
-            }
-        }
-
-        CsvRubricParser.ParsedRubric parsed = CsvRubricParser.parse(csvPath, decodeHtml);
+        ParsedRubric parsed = criteriaGlob == null
+                ? RubricSources.parse(source, inputPath, decodeHtml)
+                : parseSlice(inputPath, criteriaGlob, decodeHtml);
         List<RubricModels.Criterion> criteria = parsed.criteria();
         double totalPoints = parsed.totalPoints();
 
-        final String finalToken = token;
-        final String finalBaseUrl = baseUrl;
-
-        CanvasClient client = new CanvasClient(new CanvasCredentialProvider() {
-            @Override
-            public String loadToken() {
-                return finalToken;
-            }
-
-            @Override
-            public String loadBaseUrl() {
-                return finalBaseUrl;
-            }
-        });
+        CanvasClient client = newClient(token, baseUrl, httpSettings, cacheSettings);
         var formFields = client.buildFormFieldsForRubricCreate(
                 title,
                 freeFormComments,
@@ -109,19 +273,207 @@ public final class CliApp {
             System.out.println("Updated assignment points_possible to " + totalPoints);
         }
 
-        var response = client.createRubric(courseId, formFields);
-        var rubricId = response.rubric();
-        var assocId = response.rubricAssociation();
-        System.out.println("Created rubric + association.");
-        System.out.println("Rubric ID: " + rubricId);
-        System.out.println("Association ID: " + assocId);
+        var outcome = reuseRubrics
+                ? new RubricDeduplicator(client).create(courseId, criteria, formFields)
+                : new RubricDeduplicator.Outcome(client.createRubric(courseId, formFields), false);
+        var association = outcome.created().rubricAssociation();
+        if (outcome.reused()) {
+            System.out.println("Reused existing rubric '" + outcome.created().rubric().title()
+                    + "' with the same criteria; the given title was not applied.");
+        }
+        System.out.println("Created rubric association.");
+        System.out.println("Rubric ID: " + (association == null ? null : association.rubricId()));
+        System.out.println("Association ID: " + (association == null ? null : association.id()));
+    }
+
+    // Imports every manifest row and writes the JSONL report to the file, or to stdout when none is given.
+    private static int runBatch(BatchImport batch, Path manifestPath, Path reportPath) throws Exception {
+        List<BatchImport.ManifestRow> rows = batch.readManifest(manifestPath);
+        int failures;
+        if (reportPath == null) {
+            Writer stdout = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            failures = batch.run(rows, stdout);
+        } else {
+            try (Writer report = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+                failures = batch.run(rows, report);
+            }
+        }
+        System.err.println((rows.size() - failures) + " of " + rows.size() + " rubric(s) imported.");
+        return failures == 0 ? 0 : 4;
+    }
+
+    // Prints the plan as a diff, then applies it unless this is a dry run.
+    private static int cloneCourse(
+            CourseRubricCloner cloner,
+            String sourceCourseId,
+            String targetCourseId,
+            CourseRubricCloner.MatchBy matchBy,
+            boolean dryRun)
+            throws Exception {
+        List<CourseRubricCloner.Step> steps = cloner.plan(sourceCourseId, targetCourseId, matchBy);
+        for (CourseRubricCloner.Step step : steps) {
+            System.out.println(CourseRubricCloner.describe(step));
+        }
+        if (dryRun) {
+            return 0;
+        }
+        int failures = 0;
+        for (CourseRubricCloner.Outcome outcome : cloner.apply(targetCourseId, steps)) {
+            String target = outcome.step().target().name();
+            if (outcome.error() != null) {
+                failures++;
+                System.err.println("Failed " + target + ": " + outcome.error());
+            } else {
+                RubricModels.Association association = outcome.association();
+                System.out.println("Cloned onto " + target + " (rubric "
+                        + (association == null ? null : association.rubricId()) + ")");
+            }
+        }
+        return failures == 0 ? 0 : 4;
+    }
+
+    // Exports each course to <target>/course-<id> (or course-<id>.zip), several courses at a time.
+    private static int exportCourses(
+            CanvasClient client, List<String> courseIds, Path target, boolean zip, int concurrency)
+            throws InterruptedException {
+        CourseRubricExporter exporter = new CourseRubricExporter(client);
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String raw : courseIds) {
+                String courseId = raw.trim();
+                if (courseId.isEmpty()) {
+                    continue;
+                }
+                executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        Path courseTarget = target.resolve("course-" + courseId + (zip ? ".zip" : ""));
+                        CourseRubricExporter.Summary summary = exporter.export(courseId, courseTarget);
+                        System.out.println("Course " + courseId + ": " + summary.rubrics() + " rubric(s) from "
+                                + summary.assignments() + " assignment(s) -> " + summary.target());
+                    } catch (Exception ex) {
+                        failures.incrementAndGet();
+                        System.err.println("Course " + courseId + ": " + ex.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+        return failures.get() == 0 ? 0 : 4;
+    }
+
+    private static CanvasClient newClient(
+            String token, String baseUrl, HttpClientSettings httpSettings, ResponseCacheSettings cacheSettings) {
+        return new CanvasClient(
+                new CanvasCredentialProvider() {
+                    @Override
+                    public String loadToken() {
+                        return token;
+                    }
+
+                    @Override
+                    public String loadBaseUrl() {
+                        return baseUrl;
+                    }
+                },
+                httpSettings,
+                cacheSettings);
+    }
+
+    // Checks every row of the rubric in one pass and reports all problems; returns the process exit code.
+    private static int validate(RubricSource source, Path inputPath, String criteriaGlob, boolean decodeHtml)
+            throws IOException {
+        RubricParseOptions options = new RubricParseOptions(decodeHtml, false);
+        RubricParseReport report = criteriaGlob == null
+                ? source.parse(inputPath, options, criterion -> {})
+                : RubricBank.open(inputPath).parse(criteriaGlob, options, criterion -> {});
+        if (report.isValid()) {
+            System.out.println("Rubric is valid: " + report.criteriaCount() + " criteria, " + report.totalPoints()
+                    + " points.");
+            return 0;
+        }
+        for (RubricRowError error : report.errors()) {
+            System.err.println(error.describe());
+        }
+        System.err.println(report.errors().size() + " problem(s) found.");
+        return 3;
+    }
+
+    // Reads only the bank's criteria whose names match the glob, using (and refreshing) its index.
+    static ParsedRubric parseSlice(Path inputPath, String criteriaGlob, boolean decodeHtml)
+            throws IOException {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        RubricParseReport report =
+                RubricBank.open(inputPath).parse(criteriaGlob, RubricParseOptions.of(decodeHtml), criteria::add);
+        if (!report.isValid()) {
+            throw new RubricValidationException(report.errors());
+        }
+        if (criteria.isEmpty()) {
+            throw new IllegalArgumentException("No criteria in " + inputPath + " match " + criteriaGlob + ".");
+        }
+        return new ParsedRubric(criteria, report.totalPoints());
     }
 
     private static void printUsage() {
         System.out.println("Usage: CanvasRubricImporter --token <canvas-token> --course-id <id>"
-                + " --assignment-id <id> --title <title> --csv <file> [options]");
+                + " --assignment-id <id> --title <title> --input <file> [options]");
         System.out.println("Options:");
         System.out.println(
                 "  --no-html-decode   Do not decode HTML entities in text fields (e.g., &amp;lt;," + " -&gt;).");
+        System.out.println("  --input <file>     Rubric file: CSV, TSV or JSON (--csv is accepted as an alias).");
+        System.out.println("  --format <name>    Read --input as csv, tsv or json instead of guessing from the file.");
+        System.out.println("  --validate         Check every row of --input, report all problems and exit.");
+        System.out.println("  --criteria <glob>  Only use CSV bank criteria whose names match, e.g. \"CS101-*\".");
+        System.out.println("Batch mode: CanvasRubricImporter --token <canvas-token> --manifest <file> [options]");
+        System.out.println("  --manifest <file>  CSV or JSON rows of course_id, assignment_id, title, input; optional"
+                + " format, criteria,");
+        System.out.println("                     free_form_comments, use_for_grading, hide_score_total, purpose,"
+                + " sync_assignment_points.");
+        System.out.println("  --report <file>    Write one JSON result line per row here instead of to stdout.");
+        System.out.println("  --concurrency <n>  Rows (or exported courses) sent to Canvas at once (default 4).");
+        System.out.println("  --journal <file>   Progress journal used to resume a run (default <manifest>.journal).");
+        System.out.println("  --reuse            Attach a rubric the course already has with the same criteria instead"
+                + " of creating one;");
+        System.out.println("                     it keeps its own title. Applies to every mode.");
+        System.out.println("Export mode: CanvasRubricImporter --token <canvas-token> --export-courses <id,id,...>"
+                + " [--export-to <dir>] [--zip]");
+        System.out.println("  Writes one CSV per assignment rubric into <dir>/course-<id>/, or course-<id>.zip with"
+                + " --zip.");
+        System.out.println("Clone mode: CanvasRubricImporter --token <canvas-token> --clone-from <course-id>"
+                + " --clone-to <course-id> [--match name|position] [--dry-run]");
+        System.out.println("  Copies assignment rubrics between courses; --dry-run only prints the planned changes.");
+        System.out.println("HTTP options (durations accept ms, s or m suffixes; plain numbers are seconds):");
+        System.out.println("  --max-connections-per-route <n>   Pooled connections per Canvas host.");
+        System.out.println("  --max-connections <n>             Pooled connections in total.");
+        System.out.println("  --connect-timeout <duration>      Time allowed to open a connection.");
+        System.out.println("  --response-timeout <duration>     Time allowed to wait for a response.");
+        System.out.println("  --socket-timeout <duration>       Time allowed between reads.");
+        System.out.println("  --connection-ttl <duration>       Maximum lifetime of a pooled connection.");
+        System.out.println("  --idle-eviction <duration>        Close pooled connections idle for this long.");
+        System.out.println("  --validate-after-inactivity <duration>   Re-check idle connections before reuse.");
+        System.out.println("  --keep-alive <duration>           Keep-alive when the server sends none.");
+        System.out.println("  --page-concurrency <n>            List pages fetched at once.");
+        System.out.println("  --no-cache                        Do not reuse cached GET responses.");
+        System.out.println("  --cache-dir <dir>                 Directory for cached GET responses.");
+        System.out.println("  --cache-max-entries <n>           Cached responses kept on disk (0 disables).");
+        System.out.println("  --cache-max-mb <n>                Disk space allowed for cached responses.");
+        System.out.println("  --save-http-settings              Store the HTTP options above as the new defaults.");
+    }
+
+    private static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
     }
 }
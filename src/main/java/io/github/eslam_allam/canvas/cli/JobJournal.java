@@ -0,0 +1,139 @@
+package io.github.eslam_allam.canvas.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Append-only JSONL record of a batch job. Each unit's intent is written, and made durable, before its request
+// is sent, and its outcome after, so a re-run knows which units finished, which failed and which were cut off
+// mid-request. Concurrent writers share fsyncs: whoever syncs covers every line appended before it started.
+final class JobJournal implements AutoCloseable {
+
+    enum State {
+        INTENT,
+        DONE,
+        FAILED
+    }
+
+    record Entry(String unit, State state, Long rubricId, Long associationId, String error) {}
+
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> latest;
+    private final Object syncLock = new Object();
+    private long appended;
+    private long durable;
+
+    private JobJournal(FileChannel channel, ObjectMapper objectMapper, Map<String, Entry> latest) {
+        this.channel = channel;
+        this.objectMapper = objectMapper;
+        this.latest = latest;
+    }
+
+    // Replays an existing journal; a line torn by a crash is dropped so new lines start cleanly.
+    static JobJournal open(Path path) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Entry> latest = new HashMap<>();
+        FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            byte[] content = Files.readAllBytes(path);
+            int complete = content.length;
+            while (complete > 0 && content[complete - 1] != '\n') {
+                complete--;
+            }
+            for (String line : new String(content, 0, complete, StandardCharsets.UTF_8).split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry = fromJson(objectMapper.readTree(line));
+                latest.put(entry.unit(), entry);
+            }
+            channel.truncate(complete);
+            channel.position(complete);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+        return new JobJournal(channel, objectMapper, latest);
+    }
+
+    // Identifies one rubric in a batch across runs.
+    static String unit(String courseId, String assignmentId, String title) {
+        return courseId + "/" + assignmentId + "/" + title;
+    }
+
+    synchronized Entry latest(String unit) {
+        return this.latest.get(unit);
+    }
+
+    // Returns once the entry is on disk.
+    void record(Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap(
+                (this.objectMapper.writeValueAsString(toJson(entry)) + "\n").getBytes(StandardCharsets.UTF_8));
+        long sequence;
+        synchronized (this) {
+            while (line.hasRemaining()) {
+                this.channel.write(line);
+            }
+            this.latest.put(entry.unit(), entry);
+            sequence = ++this.appended;
+        }
+        sync(sequence);
+    }
+
+    private void sync(long sequence) throws IOException {
+        synchronized (this.syncLock) {
+            if (this.durable >= sequence) {
+                return;
+            }
+            long covered;
+            synchronized (this) {
+                covered = this.appended;
+            }
+            this.channel.force(false);
+            this.durable = covered;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private ObjectNode toJson(Entry entry) {
+        ObjectNode node = this.objectMapper.createObjectNode();
+        node.put("unit", entry.unit());
+        node.put("state", entry.state().name().toLowerCase(Locale.ROOT));
+        node.put("at", System.currentTimeMillis());
+        if (entry.rubricId() != null) {
+            node.put("rubric_id", entry.rubricId());
+        }
+        if (entry.associationId() != null) {
+            node.put("association_id", entry.associationId());
+        }
+        if (entry.error() != null) {
+            node.put("error", entry.error());
+        }
+        return node;
+    }
+
+    private static Entry fromJson(JsonNode node) {
+        return new Entry(
+                node.path("unit").asText(),
+                State.valueOf(node.path("state").asText().toUpperCase(Locale.ROOT)),
+                node.hasNonNull("rubric_id") ? node.get("rubric_id").asLong() : null,
+                node.hasNonNull("association_id") ? node.get("association_id").asLong() : null,
+                node.hasNonNull("error") ? node.get("error").asText() : null);
+    }
+}
@@ -1,36 +1,69 @@
 package io.github.eslam_allam.canvas.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.github.eslam_allam.canvas.domain.DynamicURIBuilder;
 import io.github.eslam_allam.canvas.model.canvas.Assignment;
 import io.github.eslam_allam.canvas.model.canvas.Assignment.GradingType;
+import io.github.eslam_allam.canvas.model.canvas.AssignmentSummary;
 import io.github.eslam_allam.canvas.model.canvas.Course;
+import io.github.eslam_allam.canvas.model.canvas.CourseSummary;
 import io.github.eslam_allam.canvas.model.canvas.RubricModels;
 import io.github.eslam_allam.canvas.request.AssignmentPointsUpdateRequest;
 import io.github.eslam_allam.canvas.request.RequestWrapper;
+import io.github.eslam_allam.canvas.task.TaskHandle;
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.StringJoiner;
-import org.apache.commons.lang3.tuple.Pair;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpPut;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 
+@Singleton
 public final class CanvasClient {
 
     private enum ResourceType {
@@ -47,22 +80,76 @@ public final class CanvasClient {
         }
     }
 
+    private record Page<T>(List<T> items, Map<String, URI> links) {}
+
+    // Identifies a GET for single-flighting; the type matters because summaries and full models share URLs.
+    private record FlightKey(String authorization, URI url, Class<?> type) {}
+
+    @FunctionalInterface
+    private interface BodyReader<R> {
+        R read(InputStream body, String linkHeader) throws IOException;
+    }
+
+    private static final String PAGE_PARAMETER = "page";
+    private static final Pattern LINK_REL_PATTERN = Pattern.compile("rel=\"([^\"]+)\"");
+
     private final DynamicURIBuilder baseApi;
-    private final CloseableHttpClient httpClient;
+    private final CanvasRequestScheduler scheduler;
+    private final ResponseCache responseCache;
+    private final SingleFlight<FlightKey, List<?>> listFlights;
+    private final SingleFlight<FlightKey, Assignment> assignmentFlights;
+    private final CanvasCredentialProvider provider;
     private final ObjectMapper objectMapper;
+    private final int pageConcurrency;
+    // Shared by all paginated calls; each keeps at most pageConcurrency of its pages in flight.
+    private final ExecutorService pageExecutor;
 
-    @Inject
     public CanvasClient(CanvasCredentialProvider provider) {
+        this(provider, HttpClientSettings.defaults(), ResponseCacheSettings.disabled());
+    }
+
+    @Inject
+    public CanvasClient(
+            CanvasCredentialProvider provider, HttpClientSettings settings, ResponseCacheSettings cacheSettings) {
+        this.provider = provider;
+        this.pageConcurrency = settings.pageConcurrency();
+        this.pageExecutor =
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("canvas-page-", 1).factory());
+        this.responseCache = ResponseCache.open(cacheSettings);
+        this.listFlights = new SingleFlight<>();
+        this.assignmentFlights = new SingleFlight<>();
         this.baseApi = DynamicURIBuilder.of(provider::loadBaseUrl).appendPath("/api/v1");
-        this.httpClient = HttpClientBuilder.create()
+        CloseableHttpClient httpClient = HttpClientBuilder.create()
+                .setConnectionManager(buildConnectionManager(settings))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(settings.responseTimeout().toMillis()))
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(settings.keepAlive().toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(settings.idleConnectionEviction().toMillis()))
                 .addRequestInterceptorFirst((request, entity, context) ->
-                        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + provider.loadToken()))
+                        request.setHeader(HttpHeaders.AUTHORIZATION, provider.authorizationHeader()))
                 .setDefaultHeaders(
                         List.of(new BasicHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType())))
                 .build();
+        this.scheduler = new CanvasRequestScheduler(httpClient, settings.maxConnectionsPerRoute());
         this.objectMapper = new ObjectMapper();
     }
 
+    private static PoolingHttpClientConnectionManager buildConnectionManager(HttpClientSettings settings) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(settings.maxConnectionsPerRoute())
+                .setMaxConnTotal(settings.maxConnectionsTotal())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(settings.connectTimeout().toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(settings.socketTimeout().toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(settings.connectionTimeToLive().toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(
+                                settings.validateAfterInactivity().toMillis()))
+                        .build())
+                .build();
+    }
+
     public void updateAssignmentPoints(String courseId, String assignmentId, double points)
             throws IOException, URISyntaxException {
         URI url = this.baseApi
@@ -77,7 +164,7 @@ public final class CanvasClient {
 
         HttpPut request = new HttpPut(url);
         request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
-        this.httpClient.execute(request, response -> {
+        this.scheduler.execute(request, response -> {
             if (response.getCode() >= 400) {
                 throw new IOException("Failed to update assignment points: HTTP "
                         + response.getCode()
@@ -101,7 +188,7 @@ public final class CanvasClient {
         HttpPost request = new HttpPost(url);
         request.setHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_FORM_URLENCODED.getMimeType());
         request.setEntity(new StringEntity(formBody, ContentType.APPLICATION_FORM_URLENCODED));
-        return this.httpClient.execute(request, response -> {
+        return this.scheduler.execute(request, response -> {
             if (response.getCode() >= 400) {
                 throw new IOException("Rubric create failed: HTTP "
                         + response.getCode()
@@ -112,6 +199,43 @@ public final class CanvasClient {
         });
     }
 
+    // Associates an existing rubric with an assignment; formFields carry the rubric_association[...] settings.
+    public RubricModels.Association createRubricAssociation(String courseId, Map<String, String> formFields)
+            throws IOException, URISyntaxException {
+        URI url = this.baseApi
+                .newInstance()
+                .appendPath(ResourceType.COURSES.type())
+                .appendPath(courseId)
+                .appendPath("rubric_associations")
+                .build();
+
+        HttpPost request = new HttpPost(url);
+        request.setHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_FORM_URLENCODED.getMimeType());
+        request.setEntity(new StringEntity(toFormBody(formFields), ContentType.APPLICATION_FORM_URLENCODED));
+        return this.scheduler.execute(request, response -> {
+            if (response.getCode() >= 400) {
+                throw new IOException("Rubric association failed: HTTP "
+                        + response.getCode()
+                        + "\n"
+                        + EntityUtils.toString(response.getEntity()));
+            }
+            JsonNode body = objectMapper.readTree(response.getEntity().getContent());
+            JsonNode association = body.has("rubric_association") ? body.get("rubric_association") : body;
+            return objectMapper.treeToValue(association, RubricModels.Association.class);
+        });
+    }
+
+    public List<RubricModels.CourseRubric> listRubrics(String courseId) throws IOException, URISyntaxException {
+        return getPaginated(
+                this.baseApi
+                        .newInstance()
+                        .appendPath(ResourceType.COURSES.type())
+                        .appendPath(courseId)
+                        .appendPath("rubrics")
+                        .build(),
+                RubricModels.CourseRubric.class);
+    }
+
     public List<Course> listCourses() throws IOException, URISyntaxException {
         return getPaginated(
                 this.baseApi
@@ -133,6 +257,42 @@ public final class CanvasClient {
                 Assignment.class);
     }
 
+    // Streams every assignment of the course with its rubric as pages arrive, without collecting the list.
+    public void forEachAssignmentWithRubric(String courseId, Consumer<? super Assignment> consumer)
+            throws IOException, URISyntaxException {
+        forEachPaginated(
+                this.baseApi
+                        .newInstance()
+                        .appendPath(ResourceType.COURSES.type())
+                        .appendPath(courseId)
+                        .appendPath(ResourceType.ASSIGNMENTS.type())
+                        .addParameter("include[]", "rubric")
+                        .build(),
+                Assignment.class,
+                consumer);
+    }
+
+    public List<CourseSummary> listCourseSummaries() throws IOException, URISyntaxException {
+        return getPaginated(
+                this.baseApi
+                        .newInstance()
+                        .appendPath(ResourceType.COURSES.type())
+                        .addParameter("enrollment_state", "active")
+                        .build(),
+                CourseSummary.class);
+    }
+
+    public List<AssignmentSummary> listAssignmentSummaries(String courseId) throws IOException, URISyntaxException {
+        return getPaginated(
+                this.baseApi
+                        .newInstance()
+                        .appendPath(ResourceType.COURSES.type())
+                        .appendPath(courseId)
+                        .appendPath(ResourceType.ASSIGNMENTS.type())
+                        .build(),
+                AssignmentSummary.class);
+    }
+
     public Assignment getAssignmentWithRubric(String courseId, String assignmentId)
             throws IOException, URISyntaxException {
         URI url = this.baseApi
@@ -143,66 +303,204 @@ public final class CanvasClient {
                 .appendPath(assignmentId)
                 .addParameter("include", "rubric,assignment_visibility,overrides,ab_guid")
                 .build();
-        return this.httpClient.execute(new HttpGet(url), response -> {
-            if (response.getCode() >= 400) {
-                throw new IOException("Failed to fetch assignment: HTTP "
+        return this.assignmentFlights.execute(
+                new FlightKey(this.provider.authorizationHeader(), url, Assignment.class),
+                () -> getConditionally(
+                        url,
+                        "Failed to fetch assignment",
+                        (body, linkHeader) -> objectMapper.readValue(body, Assignment.class)));
+    }
+
+    // Lists are shared between every caller that joined the same flight, so they are handed out read-only.
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getPaginated(URI url, Class<T> clazz) throws IOException, URISyntaxException {
+        FlightKey key = new FlightKey(this.provider.authorizationHeader(), url, clazz);
+        return (List<T>) this.listFlights.execute(key, () -> {
+            List<T> result = new ArrayList<>();
+            forEachPaginated(url, clazz, result::add);
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    private <T> void forEachPaginated(URI url, Class<T> clazz, Consumer<? super T> consumer)
+            throws IOException, URISyntaxException {
+        ObjectReader reader = objectMapper.readerFor(clazz);
+        Page<T> first = fetchPage(url, reader);
+        first.items().forEach(consumer);
+
+        Optional<List<URI>> remainingPages = remainingPageUrls(first.links());
+        if (remainingPages.isPresent()) {
+            fetchPagesConcurrently(remainingPages.get(), reader, consumer);
+        } else {
+            URI nextUrl = first.links().get("next");
+            while (nextUrl != null) {
+                Page<T> page = fetchPage(nextUrl, reader);
+                page.items().forEach(consumer);
+                nextUrl = page.links().get("next");
+            }
+        }
+    }
+
+    private <T> Page<T> fetchPage(URI targetUrl, ObjectReader reader) throws IOException {
+        return getConditionally(targetUrl, "Request to " + targetUrl + " failed", (body, linkHeader) -> {
+            // Binds each array element straight from the response stream instead of buffering a JsonNode tree.
+            List<T> items = new ArrayList<>();
+            try (MappingIterator<T> values = reader.readValues(body)) {
+                while (values.hasNextValue()) {
+                    items.add(values.nextValue());
+                }
+            }
+            return new Page<>(items, parseLinks(linkHeader));
+        });
+    }
+
+    // GET that revalidates a cached copy with If-None-Match / If-Modified-Since and reuses its body on a 304.
+    private <R> R getConditionally(URI url, String failureMessage, BodyReader<R> reader) throws IOException {
+        String cacheKey = ResponseCache.key(this.provider.authorizationHeader(), url);
+        Optional<ResponseCache.CachedResponse> cached = this.responseCache.lookup(cacheKey);
+
+        HttpGet request = new HttpGet(url);
+        cached.ifPresent(entry -> {
+            if (entry.etag() != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, entry.etag());
+            }
+            if (entry.lastModified() != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified());
+            }
+        });
+
+        return this.scheduler.execute(request, response -> {
+            if (response.getCode() == HttpStatus.SC_NOT_MODIFIED && cached.isPresent()) {
+                return reader.read(new ByteArrayInputStream(cached.get().body()), cached.get().linkHeader());
+            }
+            if (response.getCode() >= 300) {
+                throw new IOException(failureMessage
+                        + ": HTTP "
                         + response.getCode()
                         + " "
-                        + EntityUtils.toString(response.getEntity()));
+                        + (response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity())));
+            }
+
+            String linkHeader = headerValue(response, "Link");
+            String etag = headerValue(response, HttpHeaders.ETAG);
+            String lastModified = headerValue(response, HttpHeaders.LAST_MODIFIED);
+            if (!this.responseCache.enabled() || (etag.isEmpty() && lastModified.isEmpty())) {
+                return reader.read(response.getEntity().getContent(), linkHeader);
             }
-            return objectMapper.readValue(response.getEntity().getContent(), Assignment.class);
+
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            this.responseCache.store(
+                    cacheKey,
+                    new ResponseCache.CachedResponse(
+                            etag.isEmpty() ? null : etag,
+                            lastModified.isEmpty() ? null : lastModified,
+                            linkHeader,
+                            body));
+            return reader.read(new ByteArrayInputStream(body), linkHeader);
         });
     }
 
-    private <T> List<T> getPaginated(URI url, Class<T> clazz) throws IOException {
-        var result = new java.util.ArrayList<JsonNode>();
-        URI nextUrl = url;
-        while (nextUrl != null) {
-            final URI targetUrl = nextUrl;
-            Pair<JsonNode, URI> bodyAndNextUrl = this.httpClient.execute(new HttpGet(targetUrl), response -> {
-                if (response.getCode() >= 400) {
-                    throw new IOException("HTTP "
-                            + response.getCode()
-                            + " while calling "
-                            + targetUrl
-                            + ": "
-                            + EntityUtils.toString(response.getEntity()));
+    private static String headerValue(ClassicHttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? "" : header.getValue();
+    }
+
+    // Pages are handed to the consumer in order while later ones load, so only the window is held in memory.
+    private <T> void fetchPagesConcurrently(List<URI> urls, ObjectReader reader, Consumer<? super T> consumer)
+            throws IOException {
+        // Page workers act on behalf of the calling task so cancelling it also aborts their requests.
+        Optional<TaskHandle> owner = TaskHandle.current();
+        Deque<Future<Page<T>>> window = new ArrayDeque<>();
+        Iterator<URI> remaining = urls.iterator();
+        try {
+            while (remaining.hasNext() || !window.isEmpty()) {
+                while (remaining.hasNext() && window.size() < this.pageConcurrency) {
+                    URI pageUrl = remaining.next();
+                    window.add(this.pageExecutor.submit(
+                            () -> TaskHandle.callAs(owner, () -> this.<T>fetchPage(pageUrl, reader))));
                 }
-                return Pair.of(
-                        objectMapper.readTree(response.getEntity().getContent()),
-                        parseNextLink(
-                                response.containsHeader("Link")
-                                        ? response.getFirstHeader("Link").getValue()
-                                        : ""));
-            });
-
-            JsonNode body = bodyAndNextUrl.getLeft();
-            nextUrl = bodyAndNextUrl.getRight();
-            if (body.isArray()) {
-                body.forEach(result::add);
-            } else {
-                result.add(body);
+                awaitPage(window.removeFirst()).items().forEach(consumer);
+            }
+        } finally {
+            for (Future<Page<T>> page : window) {
+                page.cancel(true);
             }
         }
-        return objectMapper.convertValue(
-                result, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
     }
 
-    private static URI parseNextLink(String linkHeader) {
-        if (linkHeader == null || linkHeader.isEmpty()) {
-            return null;
+    private static <T> Page<T> awaitPage(Future<Page<T>> page) throws IOException {
+        try {
+            return page.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching pages");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    // Numbered pages (page=3) can all be requested up front once "last" is known. Bookmark pagination
+    // (page=bookmark:...) or a missing "last" link only allows walking the "next" chain.
+    private static Optional<List<URI>> remainingPageUrls(Map<String, URI> links) throws URISyntaxException {
+        URI next = links.get("next");
+        if (next == null) {
+            return Optional.of(List.of());
         }
-        String[] parts = linkHeader.split(",");
-        for (String part : parts) {
-            if (part.contains("rel=\"next\"")) {
-                int start = part.indexOf('<');
-                int end = part.indexOf('>');
-                if (start >= 0 && end > start) {
-                    return URI.create(part.substring(start + 1, end));
+        URI last = links.get("last");
+        if (last == null) {
+            return Optional.empty();
+        }
+        int nextPage = pageNumber(next);
+        int lastPage = pageNumber(last);
+        if (nextPage < 0 || lastPage < nextPage) {
+            return Optional.empty();
+        }
+
+        List<URI> urls = new ArrayList<>(lastPage - nextPage + 1);
+        for (int page = nextPage; page <= lastPage; page++) {
+            urls.add(new URIBuilder(next)
+                    .setParameter(PAGE_PARAMETER, Integer.toString(page))
+                    .build());
+        }
+        return Optional.of(urls);
+    }
+
+    private static int pageNumber(URI url) {
+        for (NameValuePair param : new URIBuilder(url).getQueryParams()) {
+            if (PAGE_PARAMETER.equals(param.getName())) {
+                try {
+                    return Integer.parseInt(param.getValue());
+                } catch (NumberFormatException ex) {
+                    return -1;
                 }
             }
         }
-        return null;
+        return -1;
+    }
+
+    private static Map<String, URI> parseLinks(String linkHeader) {
+        Map<String, URI> links = new HashMap<>();
+        if (linkHeader == null || linkHeader.isEmpty()) {
+            return links;
+        }
+        int cursor = 0;
+        while (true) {
+            int start = linkHeader.indexOf('<', cursor);
+            int end = linkHeader.indexOf('>', start + 1);
+            if (start < 0 || end < 0) {
+                return links;
+            }
+            int nextStart = linkHeader.indexOf('<', end);
+            String params = linkHeader.substring(end + 1, nextStart < 0 ? linkHeader.length() : nextStart);
+            Matcher rel = LINK_REL_PATTERN.matcher(params);
+            if (rel.find()) {
+                links.put(rel.group(1), URI.create(linkHeader.substring(start + 1, end)));
+            }
+            cursor = end + 1;
+        }
     }
 
     public Map<String, String> buildFormFieldsForRubricCreate(
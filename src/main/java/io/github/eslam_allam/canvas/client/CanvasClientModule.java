@@ -0,0 +1,23 @@
+package io.github.eslam_allam.canvas.client;
+
+import dagger.Module;
+import dagger.Provides;
+import io.github.eslam_allam.canvas.service.PreferencesService;
+import jakarta.inject.Singleton;
+
+@Module
+public final class CanvasClientModule {
+    private CanvasClientModule() {}
+
+    @Provides
+    @Singleton
+    public static HttpClientSettings httpClientSettings(PreferencesService preferencesService) {
+        return preferencesService.loadHttpClientSettings();
+    }
+
+    @Provides
+    @Singleton
+    public static ResponseCacheSettings responseCacheSettings(PreferencesService preferencesService) {
+        return preferencesService.loadResponseCacheSettings();
+    }
+}
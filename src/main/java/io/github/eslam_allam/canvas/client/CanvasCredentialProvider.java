@@ -4,4 +4,8 @@ public interface CanvasCredentialProvider {
     String loadBaseUrl();
 
     String loadToken();
+
+    default String authorizationHeader() {
+        return "Bearer " + loadToken();
+    }
 }
@@ -2,7 +2,7 @@ package io.github.eslam_allam.canvas.client;
 
 import dagger.Binds;
 import dagger.Module;
-import io.github.eslam_allam.canvas.service.PreferencesService;
+import io.github.eslam_allam.canvas.service.CachedConnectionStore;
 import jakarta.inject.Singleton;
 
 @Module
@@ -10,5 +10,5 @@ public interface CanvasCredentialProviderModule {
 
     @Binds
     @Singleton
-    CanvasCredentialProvider bindCanvasCredentialProvider(PreferencesService impl);
+    CanvasCredentialProvider bindCanvasCredentialProvider(CachedConnectionStore impl);
 }
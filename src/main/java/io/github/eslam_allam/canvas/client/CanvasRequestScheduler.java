@@ -0,0 +1,228 @@
+package io.github.eslam_allam.canvas.client;
+
+import io.github.eslam_allam.canvas.task.TaskHandle;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.BufferedHttpEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+
+// Runs every Canvas call through one adaptive gate. Canvas throttles with a leaky bucket and reports the
+// remaining quota on each response, so the number of requests allowed in flight grows while the bucket is
+// healthy, halves when it runs low or a request is throttled, and throttled calls are retried after a
+// jittered backoff that every caller observes.
+final class CanvasRequestScheduler {
+
+    static final String RATE_LIMIT_REMAINING_HEADER = "X-Rate-Limit-Remaining";
+    static final String REQUEST_COST_HEADER = "X-Request-Cost";
+
+    // Below this remaining quota new requests are spaced out until the bucket has leaked back up.
+    private static final double LOW_WATERMARK = 150.0;
+    // Above this remaining quota the concurrency limit is allowed to grow again.
+    private static final double HIGH_WATERMARK = 400.0;
+    // Canvas does not advertise its leak rate; this is a conservative estimate in quota units per second.
+    private static final double LEAK_RATE_PER_SECOND = 10.0;
+
+    private static final int MAX_RETRIES = 6;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private static final class ThrottledException extends IOException {
+        private final long retryAfterMillis;
+
+        ThrottledException(String message, long retryAfterMillis) {
+            super(message);
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+
+    private final CloseableHttpClient httpClient;
+    private final int maxConcurrency;
+
+    private final ReentrantLock lock;
+    private final Condition stateChanged;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long pausedUntilNanos;
+
+    CanvasRequestScheduler(CloseableHttpClient httpClient, int maxConcurrency) {
+        this.httpClient = httpClient;
+        this.maxConcurrency = maxConcurrency;
+        this.lock = new ReentrantLock();
+        this.stateChanged = this.lock.newCondition();
+        this.concurrencyLimit = maxConcurrency;
+        this.pausedUntilNanos = System.nanoTime();
+    }
+
+    // When called from a background task the exchange is aborted as soon as that task is cancelled.
+    <T> T execute(ClassicHttpRequest request, HttpClientResponseHandler<? extends T> handler) throws IOException {
+        Optional<TaskHandle> owner = TaskHandle.current();
+        try (TaskHandle.Registration ignored = owner.isPresent() && request instanceof Cancellable cancellable
+                ? owner.get().onCancel(cancellable::cancel)
+                : TaskHandle.Registration.NONE) {
+            return executeWithRetries(request, handler);
+        }
+    }
+
+    private <T> T executeWithRetries(ClassicHttpRequest request, HttpClientResponseHandler<? extends T> handler)
+            throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            acquire();
+            try {
+                return this.httpClient.execute(request, response -> {
+                    observe(response);
+                    if (isThrottled(response)) {
+                        EntityUtils.consume(response.getEntity());
+                        throw new ThrottledException(
+                                "Canvas rate limit exceeded (HTTP " + response.getCode() + ")",
+                                retryAfterMillis(response));
+                    }
+                    return handler.handleResponse(response);
+                });
+            } catch (ThrottledException ex) {
+                if (attempt >= MAX_RETRIES) {
+                    throw new IOException(
+                            ex.getMessage() + " while calling " + request.getRequestUri() + " after " + MAX_RETRIES
+                                    + " retries",
+                            ex);
+                }
+                onThrottled(Math.max(ex.retryAfterMillis, backoffMillis(attempt)));
+            } finally {
+                release();
+            }
+        }
+    }
+
+    private void acquire() throws InterruptedIOException {
+        this.lock.lock();
+        try {
+            while (true) {
+                long pause = this.pausedUntilNanos - System.nanoTime();
+                if (pause > 0) {
+                    this.stateChanged.awaitNanos(pause);
+                } else if (this.inFlight < (int) this.concurrencyLimit) {
+                    this.inFlight++;
+                    return;
+                } else {
+                    this.stateChanged.await();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a Canvas request slot");
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void release() {
+        this.lock.lock();
+        try {
+            this.inFlight--;
+            this.stateChanged.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void observe(ClassicHttpResponse response) {
+        double remaining = headerAsDouble(response, RATE_LIMIT_REMAINING_HEADER);
+        if (Double.isNaN(remaining)) {
+            return;
+        }
+        double cost = headerAsDouble(response, REQUEST_COST_HEADER);
+
+        this.lock.lock();
+        try {
+            if (remaining < LOW_WATERMARK) {
+                // Leave enough room for the requests already in flight to land without emptying the bucket.
+                double projected = remaining - (Double.isNaN(cost) ? 0 : cost * this.inFlight);
+                long waitMillis = (long) ((LOW_WATERMARK - projected) / LEAK_RATE_PER_SECOND * 1000);
+                pauseFor(waitMillis);
+                this.concurrencyLimit = Math.max(1, this.concurrencyLimit / 2);
+            } else if (remaining > HIGH_WATERMARK && this.concurrencyLimit < this.maxConcurrency) {
+                // Additive increase: roughly one extra slot per full window of healthy responses.
+                this.concurrencyLimit =
+                        Math.min(this.maxConcurrency, this.concurrencyLimit + 1 / this.concurrencyLimit);
+            }
+            this.stateChanged.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void onThrottled(long waitMillis) {
+        this.lock.lock();
+        try {
+            this.concurrencyLimit = Math.max(1, this.concurrencyLimit / 2);
+            pauseFor(waitMillis);
+            this.stateChanged.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void pauseFor(long waitMillis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        if (until - this.pausedUntilNanos > 0) {
+            this.pausedUntilNanos = until;
+        }
+    }
+
+    private static boolean isThrottled(ClassicHttpResponse response) throws IOException {
+        int code = response.getCode();
+        if (code == 429) {
+            return true;
+        }
+        if (code != 403 || response.getEntity() == null) {
+            return false;
+        }
+        // Canvas answers throttled calls with 403 "Rate Limit Exceeded"; buffer the body so genuine
+        // permission errors can still be read by the caller's handler.
+        HttpEntity buffered = new BufferedHttpEntity(response.getEntity());
+        response.setEntity(buffered);
+        return new String(EntityUtils.toByteArray(buffered), StandardCharsets.UTF_8).contains("Rate Limit Exceeded");
+    }
+
+    private static long backoffMillis(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 16));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private static long retryAfterMillis(ClassicHttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().trim()));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static double headerAsDouble(ClassicHttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        if (header == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(header.getValue().trim());
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+}
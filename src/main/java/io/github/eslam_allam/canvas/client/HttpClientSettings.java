@@ -0,0 +1,76 @@
+package io.github.eslam_allam.canvas.client;
+
+import java.time.Duration;
+
+public record HttpClientSettings(
+        // connections kept per Canvas host
+        int maxConnectionsPerRoute,
+        // connections kept across all hosts
+        int maxConnectionsTotal,
+        // time allowed to establish a TCP/TLS connection
+        Duration connectTimeout,
+        // time allowed between sending a request and receiving the response head
+        Duration responseTimeout,
+        // time allowed between two reads on an open connection
+        Duration socketTimeout,
+        // maximum lifetime of a pooled connection
+        Duration connectionTimeToLive,
+        // pooled connections idle for longer than this are closed
+        Duration idleConnectionEviction,
+        // idle connections are re-validated before reuse after this long
+        Duration validateAfterInactivity,
+        // keep-alive used when the server does not send a Keep-Alive header
+        Duration keepAlive,
+        // list pages fetched at once during pagination
+        int pageConcurrency) {
+
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+    public static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 20;
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_SOCKET_TIMEOUT = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_CONNECTION_TIME_TO_LIVE = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_IDLE_CONNECTION_EVICTION = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_VALIDATE_AFTER_INACTIVITY = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofSeconds(60);
+    public static final int DEFAULT_PAGE_CONCURRENCY = 4;
+
+    public HttpClientSettings {
+        if (maxConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("Connections per route must be at least 1.");
+        }
+        if (maxConnectionsTotal < maxConnectionsPerRoute) {
+            throw new IllegalArgumentException("Total connections must be at least the connections per route.");
+        }
+        if (pageConcurrency < 1) {
+            throw new IllegalArgumentException("Page concurrency must be at least 1.");
+        }
+        requirePositive(connectTimeout, "Connect timeout");
+        requirePositive(responseTimeout, "Response timeout");
+        requirePositive(socketTimeout, "Socket timeout");
+        requirePositive(connectionTimeToLive, "Connection time to live");
+        requirePositive(idleConnectionEviction, "Idle connection eviction");
+        requirePositive(validateAfterInactivity, "Validate after inactivity");
+        requirePositive(keepAlive, "Keep-alive");
+    }
+
+    public static HttpClientSettings defaults() {
+        return new HttpClientSettings(
+                DEFAULT_MAX_CONNECTIONS_PER_ROUTE,
+                DEFAULT_MAX_CONNECTIONS_TOTAL,
+                DEFAULT_CONNECT_TIMEOUT,
+                DEFAULT_RESPONSE_TIMEOUT,
+                DEFAULT_SOCKET_TIMEOUT,
+                DEFAULT_CONNECTION_TIME_TO_LIVE,
+                DEFAULT_IDLE_CONNECTION_EVICTION,
+                DEFAULT_VALIDATE_AFTER_INACTIVITY,
+                DEFAULT_KEEP_ALIVE,
+                DEFAULT_PAGE_CONCURRENCY);
+    }
+
+    private static void requirePositive(Duration value, String name) {
+        if (value == null || value.isNegative() || value.isZero()) {
+            throw new IllegalArgumentException(name + " must be a positive duration.");
+        }
+    }
+}
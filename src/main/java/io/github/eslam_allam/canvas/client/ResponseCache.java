@@ -0,0 +1,260 @@
+package io.github.eslam_allam.canvas.client;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Disk-backed store of GET responses and their validators (ETag / Last-Modified), bounded by entry count
+// and total size with least-recently-used eviction. Keys mix the request URL with a hash of the
+// Authorization header so different tokens never share entries and the token itself is never written.
+// Each entry is one file holding the validators, the Link header and the body, replaced by a single atomic
+// move, so a reader always sees all of one response.
+final class ResponseCache {
+
+    record CachedResponse(String etag, String lastModified, String linkHeader, byte[] body) {}
+
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static final int FORMAT = 1;
+
+    private final Path directory;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final boolean enabled;
+
+    // key -> entry file size, in access order
+    private final LinkedHashMap<String, Long> index;
+    private long totalBytes;
+
+    private ResponseCache(ResponseCacheSettings settings, boolean enabled) {
+        this.directory = settings.directory();
+        this.maxEntries = settings.maxEntries();
+        this.maxBytes = settings.maxBytes();
+        this.enabled = enabled;
+        this.index = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    static ResponseCache open(ResponseCacheSettings settings) {
+        if (!settings.enabled()) {
+            return new ResponseCache(settings, false);
+        }
+        try {
+            Files.createDirectories(settings.directory());
+        } catch (IOException ex) {
+            return new ResponseCache(settings, false);
+        }
+        ResponseCache cache = new ResponseCache(settings, true);
+        cache.loadIndex();
+        return cache;
+    }
+
+    boolean enabled() {
+        return this.enabled;
+    }
+
+    static String key(String authorization, URI url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(authorization.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(url.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // The file is read outside the lock; it is only ever replaced whole, so the read sees one complete entry.
+    Optional<CachedResponse> lookup(String key) {
+        if (!this.enabled || !touch(key)) {
+            return Optional.empty();
+        }
+        try {
+            Path entry = entryPath(key);
+            CachedResponse response = decode(Files.readAllBytes(entry));
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(response);
+        } catch (IOException ex) {
+            synchronized (this) {
+                remove(key);
+            }
+            return Optional.empty();
+        }
+    }
+
+    // get, not containsKey, so a hit moves the entry to the recently-used end.
+    private synchronized boolean touch(String key) {
+        return this.index.get(key) != null;
+    }
+
+    synchronized void store(String key, CachedResponse response) {
+        if (!this.enabled || response.body().length > this.maxBytes) {
+            return;
+        }
+        long size;
+        try {
+            size = writeAtomically(entryPath(key), out -> encode(response, out));
+        } catch (IOException ex) {
+            remove(key);
+            return;
+        }
+        Long previous = this.index.put(key, size);
+        this.totalBytes += size - (previous == null ? 0 : previous);
+        evict();
+    }
+
+    private static void encode(CachedResponse response, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT);
+        writeText(data, response.etag());
+        writeText(data, response.lastModified());
+        writeText(data, response.linkHeader());
+        data.writeInt(response.body().length);
+        data.write(response.body());
+        data.flush();
+    }
+
+    private static CachedResponse decode(byte[] entry) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(entry));
+        if (data.readInt() != FORMAT) {
+            throw new IOException("Unknown cache entry format");
+        }
+        String etag = readText(data);
+        String lastModified = readText(data);
+        String link = readText(data);
+        int length = data.readInt();
+        byte[] body = data.readNBytes(length);
+        if (body.length != length || data.read() != -1) {
+            throw new IOException("Cache entry is corrupt");
+        }
+        return new CachedResponse(etag, lastModified, link == null ? "" : link, body);
+    }
+
+    // Length-prefixed UTF-8; -1 stands for null.
+    private static void writeText(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readText(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = data.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated cache entry");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void loadIndex() {
+        List<Path> entryFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(ENTRY_SUFFIX)).forEach(entryFiles::add);
+        } catch (IOException ex) {
+            return;
+        }
+        entryFiles.sort(Comparator.comparing(ResponseCache::lastModified));
+        for (Path entryFile : entryFiles) {
+            String name = entryFile.getFileName().toString();
+            String key = name.substring(0, name.length() - ENTRY_SUFFIX.length());
+            try {
+                long size = Files.size(entryFile);
+                this.index.put(key, size);
+                this.totalBytes += size;
+            } catch (IOException ex) {
+                deleteFile(key);
+            }
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = this.index.entrySet().iterator();
+        while ((this.index.size() > this.maxEntries || this.totalBytes > this.maxBytes) && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            this.totalBytes -= entry.getValue();
+            deleteFile(entry.getKey());
+            eldest.remove();
+        }
+    }
+
+    private void remove(String key) {
+        Long size = this.index.remove(key);
+        if (size != null) {
+            this.totalBytes -= size;
+        }
+        deleteFile(key);
+    }
+
+    private void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(entryPath(key));
+        } catch (IOException ignored) {
+            // A leftover file is re-validated or overwritten on the next store.
+        }
+    }
+
+    private Path entryPath(String key) {
+        return this.directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // Returns the size of the file written.
+    private static long writeAtomically(Path target, StreamWriter writer) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(out);
+            }
+            long size = Files.size(temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
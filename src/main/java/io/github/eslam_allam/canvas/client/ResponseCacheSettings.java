@@ -0,0 +1,51 @@
+package io.github.eslam_allam.canvas.client;
+
+import java.nio.file.Path;
+
+public record ResponseCacheSettings(
+        // directory holding cached response bodies and their validators
+        Path directory,
+        // maximum number of cached responses; 0 disables the cache
+        int maxEntries,
+        // maximum combined size of cached bodies in bytes
+        long maxBytes) {
+
+    public static final int DEFAULT_MAX_ENTRIES = 2_000;
+    public static final long DEFAULT_MAX_BYTES = 200L * 1024 * 1024;
+
+    public ResponseCacheSettings {
+        if (directory == null) {
+            throw new IllegalArgumentException("Response cache directory is required.");
+        }
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Response cache entries cannot be negative.");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Response cache size cannot be negative.");
+        }
+    }
+
+    public boolean enabled() {
+        return maxEntries > 0 && maxBytes > 0;
+    }
+
+    public static ResponseCacheSettings defaults() {
+        return new ResponseCacheSettings(defaultDirectory(), DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public static ResponseCacheSettings disabled() {
+        return new ResponseCacheSettings(defaultDirectory(), 0, 0);
+    }
+
+    public static Path defaultDirectory() {
+        String localAppData = System.getenv("LOCALAPPDATA");
+        if (localAppData != null && !localAppData.isBlank()) {
+            return Path.of(localAppData, "CanvasRubricImporter", "cache", "http");
+        }
+        String xdgCache = System.getenv("XDG_CACHE_HOME");
+        Path base = xdgCache != null && !xdgCache.isBlank()
+                ? Path.of(xdgCache)
+                : Path.of(System.getProperty("user.home"), ".cache");
+        return base.resolve("canvas-rubric-importer").resolve("http");
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.eslam_allam.canvas.client;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricFingerprint;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+// Creates rubrics so that identical criteria are stored once per course. An import whose criteria and free-form
+// comment setting match a rubric already in the course, or one created earlier through this instance, only adds a
+// rubric association pointing at that rubric. Each course's rubric list is fetched once; concurrent imports of
+// the same new criteria wait for the first one's create instead of racing it.
+public final class RubricDeduplicator {
+
+    private static final String ASSOCIATION_PREFIX = "rubric_association[";
+    private static final String FREE_FORM_FIELD = "rubric[free_form_criterion_comments]";
+
+    private record Known(long id, String title) {}
+
+    // reused is true when the association points at an existing rubric, whose title is kept.
+    public record Outcome(RubricModels.Created created, boolean reused) {}
+
+    private final CanvasClient client;
+    private final ConcurrentHashMap<String, CompletableFuture<Map<String, CompletableFuture<Known>>>> courses;
+
+    public RubricDeduplicator(CanvasClient client) {
+        this.client = client;
+        this.courses = new ConcurrentHashMap<>();
+    }
+
+    // formFields are those from buildFormFieldsForRubricCreate for the same criteria.
+    public Outcome create(String courseId, List<RubricModels.Criterion> criteria, Map<String, String> formFields)
+            throws IOException, URISyntaxException {
+        Map<String, CompletableFuture<Known>> index = index(courseId);
+        String fingerprint = key(criteria, Boolean.parseBoolean(formFields.get(FREE_FORM_FIELD)));
+        boolean reloaded = false;
+        while (true) {
+            CompletableFuture<Known> mine = new CompletableFuture<>();
+            CompletableFuture<Known> existing = index.putIfAbsent(fingerprint, mine);
+            if (existing == null) {
+                return new Outcome(createNew(courseId, fingerprint, index, mine, formFields), false);
+            }
+            Known known = await(existing);
+            if (known == null) {
+                // That create failed; try it from this caller.
+                index.remove(fingerprint, existing);
+                continue;
+            }
+            RubricModels.Association association;
+            try {
+                association = this.client.createRubricAssociation(courseId, associationFields(known.id(), formFields));
+            } catch (IOException | URISyntaxException | RuntimeException ex) {
+                // The rubric may have been deleted in Canvas since the course was listed; list it again once.
+                invalidate(courseId);
+                if (reloaded) {
+                    throw ex;
+                }
+                reloaded = true;
+                index = index(courseId);
+                continue;
+            }
+            return new Outcome(
+                    new RubricModels.Created(new RubricModels.Rubric(known.title(), criteria), association), true);
+        }
+    }
+
+    // Forgets what is known about a course's rubrics; the next create lists them again.
+    public void invalidate(String courseId) {
+        this.courses.remove(courseId);
+    }
+
+    private RubricModels.Created createNew(
+            String courseId,
+            String fingerprint,
+            Map<String, CompletableFuture<Known>> index,
+            CompletableFuture<Known> pending,
+            Map<String, String> formFields)
+            throws IOException, URISyntaxException {
+        try {
+            RubricModels.Created created = this.client.createRubric(courseId, formFields);
+            RubricModels.Association association = created.rubricAssociation();
+            if (association != null && association.rubricId() != null) {
+                pending.complete(new Known(association.rubricId(), formFields.get("rubric[title]")));
+            } else {
+                index.remove(fingerprint, pending);
+                pending.complete(null);
+            }
+            return created;
+        } catch (IOException | URISyntaxException | RuntimeException ex) {
+            index.remove(fingerprint, pending);
+            pending.complete(null);
+            throw ex;
+        }
+    }
+
+    private Map<String, CompletableFuture<Known>> index(String courseId) throws IOException, URISyntaxException {
+        CompletableFuture<Map<String, CompletableFuture<Known>>> mine = new CompletableFuture<>();
+        CompletableFuture<Map<String, CompletableFuture<Known>>> existing = this.courses.putIfAbsent(courseId, mine);
+        if (existing != null) {
+            Map<String, CompletableFuture<Known>> index = await(existing);
+            if (index != null) {
+                return index;
+            }
+            this.courses.remove(courseId, existing);
+            return index(courseId);
+        }
+        try {
+            Map<String, CompletableFuture<Known>> index = new ConcurrentHashMap<>();
+            for (RubricModels.CourseRubric rubric : this.client.listRubrics(courseId)) {
+                if (rubric.id() == null || rubric.data() == null) {
+                    continue;
+                }
+                List<RubricModels.Criterion> criteria = rubric.data().stream()
+                        .map(data -> new RubricModels.Criterion(
+                                data.description(),
+                                data.longDescription(),
+                                data.points() == null ? 0.0 : data.points(),
+                                data.ratings()))
+                        .toList();
+                index.putIfAbsent(
+                        key(criteria, Boolean.TRUE.equals(rubric.freeFormCriterionComments())),
+                        CompletableFuture.completedFuture(new Known(rubric.id(), rubric.title())));
+            }
+            mine.complete(index);
+            return index;
+        } catch (IOException | URISyntaxException | RuntimeException ex) {
+            this.courses.remove(courseId, mine);
+            mine.complete(null);
+            throw ex;
+        }
+    }
+
+    // Free-form comments are a setting of the rubric itself, not of the association, so a rubric that differs only
+    // there cannot be shared.
+    static String key(List<RubricModels.Criterion> criteria, boolean freeFormComments) {
+        return RubricFingerprint.of(criteria) + (freeFormComments ? ":free-form" : ":ratings");
+    }
+
+    private static Map<String, String> associationFields(long rubricId, Map<String, String> formFields) {
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, String> field : formFields.entrySet()) {
+            if (field.getKey().startsWith(ASSOCIATION_PREFIX)) {
+                fields.put(field.getKey(), field.getValue());
+            }
+        }
+        fields.put(ASSOCIATION_PREFIX + "rubric_id]", Long.toString(rubricId));
+        return fields;
+    }
+
+    // Futures here only ever complete normally; null means the load or create behind them failed.
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a shared rubric");
+        } catch (ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+    }
+}
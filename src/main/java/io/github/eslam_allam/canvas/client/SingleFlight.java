@@ -0,0 +1,84 @@
+package io.github.eslam_allam.canvas.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+// Collapses concurrent calls for the same key into one load. The first caller runs the loader on its own
+// thread; callers arriving while it is in flight wait for and share its result or failure. Nothing is kept
+// once the load finishes, so a later call always goes back to Canvas.
+final class SingleFlight<K, V> {
+
+    @FunctionalInterface
+    interface Loader<V> {
+        V load() throws IOException, URISyntaxException;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight;
+
+    SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    V execute(K key, Loader<? extends V> loader) throws IOException, URISyntaxException {
+        while (true) {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, call);
+            if (existing == null) {
+                return lead(key, call, loader);
+            }
+            try {
+                return follow(existing);
+            } catch (CancellationException ex) {
+                // The leader was interrupted rather than failing; let this caller load it instead.
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> call, Loader<? extends V> loader)
+            throws IOException, URISyntaxException {
+        try {
+            V value = loader.load();
+            call.complete(value);
+            return value;
+        } catch (IOException | URISyntaxException | RuntimeException | Error ex) {
+            if (ex instanceof InterruptedIOException && !(ex instanceof SocketTimeoutException)) {
+                call.cancel(false);
+            } else {
+                call.completeExceptionally(ex);
+            }
+            throw ex;
+        } finally {
+            this.inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V follow(CompletableFuture<V> call) throws IOException, URISyntaxException {
+        try {
+            return call.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a shared Canvas request");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof URISyntaxException uriException) {
+                throw uriException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.stream.Stream;
 
 public enum FileType {
     CSV("CSV Files", "csv"),
+    TSV("TSV Files", "tsv", "tab"),
     HTML("HTML Files", "html"),
     JSON("JSON Files", "json"),
     PDF("PDF Files", "pdf"),
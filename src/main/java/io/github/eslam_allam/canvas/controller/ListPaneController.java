@@ -2,6 +2,8 @@ package io.github.eslam_allam.canvas.controller;
 
 import io.github.eslam_allam.canvas.notification.PopUp;
 import io.github.eslam_allam.canvas.notification.StatusNotifier;
+import io.github.eslam_allam.canvas.task.LatestTaskRunner;
+import io.github.eslam_allam.canvas.task.TaskExecutor;
 import io.github.eslam_allam.canvas.view.component.ListPane;
 import io.github.eslam_allam.canvas.viewmodel.ListPaneVM;
 import java.util.List;
@@ -15,36 +17,50 @@ public final class ListPaneController<T> {
     private final ListPane<T> view;
     private final StatusNotifier statusNotifier;
     private final Callable<List<T>> itemGenerator;
+    private final LatestTaskRunner loader;
 
     public ListPaneController(
-            ListPane<T> view, ListPaneVM<T> vm, Callable<List<T>> itemGenerator, StatusNotifier statusNotifier) {
+            ListPane<T> view,
+            ListPaneVM<T> vm,
+            Callable<List<T>> itemGenerator,
+            StatusNotifier statusNotifier,
+            TaskExecutor taskExecutor) {
         this.view = view;
         this.vm = vm;
         this.statusNotifier = statusNotifier;
         this.itemGenerator = itemGenerator;
+        this.loader = new LatestTaskRunner(taskExecutor);
 
         view.bind(vm);
         view.onLoad(this::onLoadItems);
     }
 
+    // Drops the result of a load still in flight, e.g. when what it was loading for is no longer selected.
+    public void cancel() {
+        this.loader.cancel();
+    }
+
     private void onLoadItems(ActionEvent event) {
         this.statusNotifier.setStatus(String.format("Loading %s...", this.view.getTitle()));
-        new Thread(
-                        () -> {
-                            try {
-                                List<T> list = this.itemGenerator.call();
-                                Platform.runLater(() -> {
-                                    this.vm.items().setAll(list);
-                                    this.statusNotifier.setStatus(String.format(
-                                            "Loaded %d %s", this.vm.items().size(), this.view.getTitle()));
-                                });
-                            } catch (Exception ex) {
-                                Platform.runLater(() -> PopUp.showError("Error", ex.getMessage()));
-                            }
-                        },
-                        String.format(
-                                "load-%s",
-                                this.view.getTitle().replace(" ", "-").toLowerCase()))
-                .start();
+        // A newer load cancels this one; anything a cancelled load produces is dropped.
+        this.loader.submit(String.format("load %s", this.view.getTitle()), handle -> {
+            try {
+                List<T> list = this.itemGenerator.call();
+                Platform.runLater(() -> {
+                    if (handle.isCancelled()) {
+                        return;
+                    }
+                    this.vm.items().setAll(list);
+                    this.statusNotifier.setStatus(
+                            String.format("Loaded %d %s", this.vm.items().size(), this.view.getTitle()));
+                });
+            } catch (Exception ex) {
+                Platform.runLater(() -> {
+                    if (!handle.isCancelled()) {
+                        PopUp.showError("Error", ex.getMessage());
+                    }
+                });
+            }
+        });
     }
 }
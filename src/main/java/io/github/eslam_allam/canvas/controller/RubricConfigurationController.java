@@ -1,21 +1,25 @@
 package io.github.eslam_allam.canvas.controller;
 
+import io.github.eslam_allam.canvas.client.RubricDeduplicator;
 import io.github.eslam_allam.canvas.constant.FileType;
 import io.github.eslam_allam.canvas.constant.OperationStatus;
 import io.github.eslam_allam.canvas.constant.StandardAlert;
 import io.github.eslam_allam.canvas.domain.ResultStatus;
 import io.github.eslam_allam.canvas.domain.RubricRow;
-import io.github.eslam_allam.canvas.model.canvas.Assignment;
-import io.github.eslam_allam.canvas.model.canvas.Course;
+import io.github.eslam_allam.canvas.model.canvas.AssignmentSummary;
+import io.github.eslam_allam.canvas.model.canvas.CourseSummary;
 import io.github.eslam_allam.canvas.model.canvas.RubricModels;
 import io.github.eslam_allam.canvas.navigation.RestorableSceneSwitcher;
 import io.github.eslam_allam.canvas.navigation.StageManager;
 import io.github.eslam_allam.canvas.notification.PopUp;
 import io.github.eslam_allam.canvas.notification.StatusNotifier;
-import io.github.eslam_allam.canvas.rubric.importing.csv.CsvRubricParser;
-import io.github.eslam_allam.canvas.rubric.importing.csv.RatingHeaderDetector;
-import io.github.eslam_allam.canvas.rubric.importing.csv.RatingHeaderDetector.RatingGroup;
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSources;
 import io.github.eslam_allam.canvas.service.CanvasRubricService;
+import io.github.eslam_allam.canvas.service.FileChangeWatcher;
+import io.github.eslam_allam.canvas.service.RubricCsvWriter;
+import io.github.eslam_allam.canvas.task.LatestTaskRunner;
+import io.github.eslam_allam.canvas.task.TaskExecutor;
 import io.github.eslam_allam.canvas.view.component.RubricConfiguration;
 import io.github.eslam_allam.canvas.view.component.RubricRatingWrappingTableCell;
 import io.github.eslam_allam.canvas.view.component.WrappingTableCell;
@@ -26,17 +30,22 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
 import javafx.scene.control.TableColumn;
@@ -48,20 +57,35 @@ import javafx.stage.FileChooser;
 @Singleton
 public final class RubricConfigurationController {
 
+    private static final Duration PREVIEW_DEBOUNCE = Duration.ofMillis(300);
+
+    // Preview table rows, ending with the total row, and the widest rating count among them.
+    private record PreviewRows(List<RubricRow> rows, int maxRatings) {}
+
+    // A rubric pasted from the clipboard; it stands in for the CSV file while the path is empty.
+    private record PastedRubric(String csvText, boolean decodeHtml, ParsedRubric parsed) {}
+
     private final CanvasRubricService rubricService;
 
     private final RubricConfigurationVM vm;
     private final RubricConfiguration view;
 
-    private final ListPaneVM<Course> coursePaneVM;
-    private final ListPaneVM<Assignment> assignmentPaneVM;
+    private final ListPaneVM<CourseSummary> coursePaneVM;
+    private final ListPaneVM<AssignmentSummary> assignmentPaneVM;
+    private final ListPaneController<AssignmentSummary> assignmentPaneController;
 
     private final RestorableSceneSwitcher sceneSwitcher;
     private final StageManager stageManager;
 
     private final StatusNotifier statusNotifier;
+    private final TaskExecutor taskExecutor;
+    private final LatestTaskRunner previewLoader;
 
     private TableView<RubricRow> rubricPreviewTable;
+    private int previewMaxRatings;
+    private volatile ParsedRubric previewedRubric;
+    private FileChangeWatcher previewWatcher;
+    private PastedRubric pastedRubric;
 
     @Inject
     public RubricConfigurationController(
@@ -71,8 +95,10 @@ public final class RubricConfigurationController {
             RestorableSceneSwitcher sceneSwitcher,
             StatusNotifier statusNotifier,
             CanvasRubricService rubricService,
-            ListPaneVM<Course> coursePaneVM,
-            ListPaneVM<Assignment> assignmentPaneVM) {
+            ListPaneVM<CourseSummary> coursePaneVM,
+            ListPaneVM<AssignmentSummary> assignmentPaneVM,
+            ListPaneController<AssignmentSummary> assignmentPaneController,
+            TaskExecutor taskExecutor) {
         this.stageManager = stageManager;
         this.sceneSwitcher = sceneSwitcher;
         this.view = view;
@@ -80,9 +106,12 @@ public final class RubricConfigurationController {
 
         this.coursePaneVM = coursePaneVM;
         this.assignmentPaneVM = assignmentPaneVM;
+        this.assignmentPaneController = assignmentPaneController;
 
         this.statusNotifier = statusNotifier;
         this.rubricService = rubricService;
+        this.taskExecutor = taskExecutor;
+        this.previewLoader = new LatestTaskRunner(taskExecutor);
 
         this.view.bind(vm);
         this.vm.useForGrading().set(true);
@@ -92,8 +121,14 @@ public final class RubricConfigurationController {
 
     private void onBrowseCsv(ActionEvent e) {
         FileChooser chooser = new FileChooser();
+        FileType[] types = RubricSources.fileTypes();
         chooser.getExtensionFilters()
-                .add(new FileChooser.ExtensionFilter(FileType.CSV.getDescription(), FileType.CSV.getGlobs()));
+                .add(new FileChooser.ExtensionFilter(
+                        "Rubric Files",
+                        Stream.of(types).flatMap(type -> Stream.of(type.getGlobs())).toList()));
+        for (FileType type : types) {
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(type.getDescription(), type.getGlobs()));
+        }
         File file = chooser.showOpenDialog(this.stageManager.getPrimaryStage());
         if (file != null) {
             this.vm.csvPath().set(file.getAbsolutePath());
@@ -101,6 +136,8 @@ public final class RubricConfigurationController {
     }
 
     private void showMainView(ActionEvent e) {
+        stopWatchingPreview();
+        this.previewLoader.cancel();
         this.sceneSwitcher.restore();
         this.vm.backBtnVisible().set(false);
         onCsvPathChange(this.vm.csvPath().get());
@@ -108,6 +145,12 @@ public final class RubricConfigurationController {
 
     private void showPreviewFullHeight(ActionEvent e) {
         String path = this.vm.csvPath().get().trim();
+        PastedRubric pasted = this.pastedRubric;
+        if (path.isEmpty() && pasted != null) {
+            boolean decodeHtml = this.vm.decodeHtml().get();
+            loadRubricPreview(() -> parsePasted(pasted, decodeHtml), parsed -> {});
+            return;
+        }
         if (path.isEmpty()) {
             PopUp.showError("Please select a CSV file first.");
             return;
@@ -162,67 +205,139 @@ public final class RubricConfigurationController {
         return table;
     }
 
+    private static PreviewRows toPreviewRows(ParsedRubric parsed) {
+        List<RubricRow> rows = new ArrayList<>();
+        int maxRatings = 0;
+        double totalPoints = 0;
+        for (RubricModels.Criterion c : parsed.criteria()) {
+            List<RubricModels.Rating> ratings = c.ratings();
+            maxRatings = Math.max(maxRatings, ratings.size());
+
+            double maxPoints = ratings.stream()
+                    .mapToDouble(RubricModels.Rating::points)
+                    .max()
+                    .orElse(0.0);
+
+            totalPoints += maxPoints;
+            rows.add(new RubricRow(c.name(), c.description(), Double.toString(maxPoints), ratings));
+        }
+        rows.add(new RubricRow("Total", "", Double.toString(totalPoints), java.util.Collections.emptyList()));
+        return new PreviewRows(rows, maxRatings);
+    }
+
     private void loadRubricPreview(Path csvPath) {
+        boolean decodeHtml = this.vm.decodeHtml().get();
+        loadRubricPreview(
+                () -> this.rubricService.parseRubric(csvPath, decodeHtml), parsed -> watchPreview(csvPath, decodeHtml));
+    }
 
+    // Parses off the FX thread and shows the result; onShown runs on the FX thread once the table is up.
+    private void loadRubricPreview(Callable<ParsedRubric> parser, Consumer<ParsedRubric> onShown) {
         this.statusNotifier.setStatus("Loading preview...");
-        new Thread(
-                        () -> {
-                            try {
-                                CsvRubricParser.ParsedRubric parsed = CsvRubricParser.parse(
-                                        csvPath, this.vm.decodeHtml().get());
-
-                                List<RubricModels.Criterion> criteria = parsed.criteria();
-
-                                List<RubricRow> rows = new ArrayList<>();
-                                int maxRatings = 0;
-                                double totalPoints = 0;
-                                for (RubricModels.Criterion c : criteria) {
-                                    List<RubricModels.Rating> ratings = c.ratings();
-                                    maxRatings = Math.max(maxRatings, ratings.size());
-
-                                    double maxPoints = ratings.stream()
-                                            .mapToDouble(RubricModels.Rating::points)
-                                            .max()
-                                            .orElse(0.0);
-
-                                    totalPoints += maxPoints;
-                                    rows.add(new RubricRow(
-                                            c.name(), c.description(), Double.toString(maxPoints), ratings));
-                                }
-
-                                final int finalMaxRatings = maxRatings;
-                                final double finalTotalPoints = totalPoints;
-
-                                Platform.runLater(() -> {
-                                    this.vm.previewButtonVisible().set(false);
-                                    this.vm.backBtnVisible().set(true);
-                                    rubricPreviewTable = buildRubricPreviewTable(finalMaxRatings);
-                                    rubricPreviewTable.getItems().setAll(rows);
-
-                                    RubricRow totalRow = new RubricRow(
-                                            "Total",
-                                            "",
-                                            Double.toString(finalTotalPoints),
-                                            java.util.Collections.emptyList());
-                                    rubricPreviewTable.getItems().add(totalRow);
-
-                                    this.sceneSwitcher.show(Section.oneTimeSection(
-                                            "Rubric Preview", rubricPreviewTable, new Insets(5, 0, 5, 0)));
-                                    this.statusNotifier.setStatus("Preview loaded");
-                                });
-
-                            } catch (Exception ex) {
-                                Platform.runLater(() -> {
-                                    if (rubricPreviewTable != null) {
-                                        rubricPreviewTable.getItems().clear();
-                                    }
-                                    PopUp.showError("Could not load preview: " + ex.getMessage());
-                                    this.statusNotifier.setStatus("Preview error");
-                                });
-                            }
-                        },
-                        "rubric-preview")
-                .start();
+        this.previewLoader.submit("rubric preview", handle -> {
+            try {
+                ParsedRubric parsed = parser.call();
+                PreviewRows preview = toPreviewRows(parsed);
+
+                Platform.runLater(() -> {
+                    if (handle.isCancelled()) {
+                        return;
+                    }
+                    this.vm.previewButtonVisible().set(false);
+                    this.vm.backBtnVisible().set(true);
+                    showPreviewTable(preview);
+                    this.previewedRubric = parsed;
+                    this.statusNotifier.setStatus("Preview loaded");
+                    onShown.accept(parsed);
+                });
+
+            } catch (Exception ex) {
+                Platform.runLater(() -> {
+                    if (handle.isCancelled()) {
+                        return;
+                    }
+                    if (rubricPreviewTable != null) {
+                        rubricPreviewTable.getItems().clear();
+                    }
+                    PopUp.showError("Could not load preview: " + ex.getMessage());
+                    this.statusNotifier.setStatus("Preview error");
+                });
+            }
+        });
+    }
+
+    private void showPreviewTable(PreviewRows preview) {
+        rubricPreviewTable = buildRubricPreviewTable(preview.maxRatings());
+        rubricPreviewTable.getItems().setAll(preview.rows());
+        this.previewMaxRatings = preview.maxRatings();
+        this.sceneSwitcher.show(Section.oneTimeSection("Rubric Preview", rubricPreviewTable, new Insets(5, 0, 5, 0)));
+    }
+
+    // While the preview is open, edits saved to the CSV are reflected without leaving the preview.
+    private void watchPreview(Path csvPath, boolean decodeHtml) {
+        stopWatchingPreview();
+        try {
+            this.previewWatcher =
+                    FileChangeWatcher.watch(csvPath, PREVIEW_DEBOUNCE, () -> refreshPreview(csvPath, decodeHtml));
+        } catch (IOException ex) {
+            this.statusNotifier.setStatus("Preview loaded (live updates unavailable: " + ex.getMessage() + ")");
+        }
+    }
+
+    private void stopWatchingPreview() {
+        if (this.previewWatcher != null) {
+            this.previewWatcher.close();
+            this.previewWatcher = null;
+        }
+    }
+
+    private void refreshPreview(Path csvPath, boolean decodeHtml) {
+        this.previewLoader.submit("rubric preview refresh", handle -> {
+            try {
+                // The service hands back the same instance when the content did not actually change.
+                ParsedRubric parsed = this.rubricService.parseRubric(csvPath, decodeHtml);
+                if (parsed == this.previewedRubric) {
+                    return;
+                }
+                PreviewRows preview = toPreviewRows(parsed);
+                Platform.runLater(() -> {
+                    if (handle.isCancelled() || this.previewWatcher == null) {
+                        return;
+                    }
+                    applyPreviewChanges(preview);
+                    this.previewedRubric = parsed;
+                    this.statusNotifier.setStatus("Preview updated");
+                });
+            } catch (Exception ex) {
+                // The file is often mid-edit; keep the last good preview and wait for the next save.
+                Platform.runLater(() -> {
+                    if (!handle.isCancelled() && this.previewWatcher != null) {
+                        this.statusNotifier.setStatus("Preview not updated: " + ex.getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    // Replaces only the rows that differ; the table is rebuilt only when the number of rating columns changes.
+    private void applyPreviewChanges(PreviewRows preview) {
+        if (preview.maxRatings() != this.previewMaxRatings) {
+            showPreviewTable(preview);
+            return;
+        }
+        ObservableList<RubricRow> items = rubricPreviewTable.getItems();
+        List<RubricRow> rows = preview.rows();
+        int common = Math.min(items.size(), rows.size());
+        for (int i = 0; i < common; i++) {
+            if (!items.get(i).equals(rows.get(i))) {
+                items.set(i, rows.get(i));
+            }
+        }
+        if (items.size() > rows.size()) {
+            items.remove(rows.size(), items.size());
+        } else if (rows.size() > items.size()) {
+            items.addAll(rows.subList(items.size(), rows.size()));
+        }
     }
 
     private void onCreate(ActionEvent e) {
@@ -242,64 +357,72 @@ public final class RubricConfigurationController {
             return;
         }
         String csvPath = this.vm.csvPath().get().trim();
-        if (csvPath.isEmpty()) {
+        PastedRubric pasted = this.pastedRubric;
+        if (csvPath.isEmpty() && pasted == null) {
             PopUp.showError("CSV file is required.");
             return;
         }
+        boolean decodeHtml = this.vm.decodeHtml().get();
 
         boolean freeForm = this.vm.freeFormComments().get();
         boolean useForGrading = this.vm.useForGrading().get();
         boolean hideScoreTotal = this.vm.hideTotalScore().get();
         boolean syncPoints = this.vm.syncPoints().get();
+        boolean reuseExisting = this.vm.reuseExisting().get();
 
         this.statusNotifier.setStatus("Reading CSV...");
-        new Thread(
-                        () -> {
-                            try {
-
-                                CsvRubricParser.ParsedRubric parsed = CsvRubricParser.parse(
-                                        Path.of(csvPath), this.vm.decodeHtml().get());
-                                List<RubricModels.Criterion> criteria = parsed.criteria();
-                                double total = parsed.totalPoints();
-
-                                if (syncPoints) {
-                                    Platform.runLater(
-                                            () -> this.statusNotifier.setStatus("Updating assignment points..."));
-                                    rubricService.updateAssignmentPoints(courseId, assignmentId, total);
-                                }
-
-                                Platform.runLater(() -> this.statusNotifier.setStatus("Creating rubric..."));
-                                RubricModels.Created response = rubricService.createRubric(
-                                        courseId,
-                                        assignmentId,
-                                        title,
-                                        freeForm,
-                                        useForGrading,
-                                        hideScoreTotal,
-                                        "grading",
-                                        criteria);
-                                String rubricTitle = response.rubric().title();
-                                String assocId =
-                                        response.rubricAssociation().id().toString();
-
-                                Platform.runLater(() -> {
-                                    this.statusNotifier.setStatus(OperationStatus.DONE);
-                                    PopUp.showInfo(
-                                            "Success",
-                                            "Rubric created successfully!\nRubric: "
-                                                    + rubricTitle
-                                                    + "\nAssociation ID: "
-                                                    + assocId);
-                                });
-                            } catch (Exception ex) {
-                                Platform.runLater(() -> {
-                                    this.statusNotifier.setStatus(OperationStatus.ERROR);
-                                    PopUp.showError(ex.getMessage());
-                                });
-                            }
-                        },
-                        "create-rubric")
-                .start();
+        this.taskExecutor.submit("create rubric", () -> {
+            try {
+
+                ParsedRubric parsed = csvPath.isEmpty()
+                        ? parsePasted(pasted, decodeHtml)
+                        : this.rubricService.parseRubric(Path.of(csvPath), decodeHtml);
+                List<RubricModels.Criterion> criteria = parsed.criteria();
+                double total = parsed.totalPoints();
+
+                if (syncPoints) {
+                    Platform.runLater(() -> this.statusNotifier.setStatus("Updating assignment points..."));
+                    rubricService.updateAssignmentPoints(courseId, assignmentId, total);
+                }
+
+                Platform.runLater(() -> this.statusNotifier.setStatus("Creating rubric..."));
+                RubricDeduplicator.Outcome outcome = rubricService.createRubric(
+                        courseId,
+                        assignmentId,
+                        title,
+                        freeForm,
+                        useForGrading,
+                        hideScoreTotal,
+                        "grading",
+                        criteria,
+                        reuseExisting);
+                String rubricTitle = outcome.created().rubric().title();
+                String assocId = outcome.created().rubricAssociation().id().toString();
+                String message = outcome.reused()
+                        ? "The course already has a rubric with these criteria, so it was attached instead of a copy."
+                                + "\nRubric: " + rubricTitle + " (the title \"" + title + "\" was not applied)"
+                                + "\nAssociation ID: " + assocId
+                        : "Rubric created successfully!\nRubric: " + rubricTitle + "\nAssociation ID: " + assocId;
+
+                Platform.runLater(() -> {
+                    this.statusNotifier.setStatus(OperationStatus.DONE);
+                    PopUp.showInfo(outcome.reused() ? "Existing Rubric Reused" : "Success", message);
+                });
+            } catch (Exception ex) {
+                Platform.runLater(() -> {
+                    this.statusNotifier.setStatus(OperationStatus.ERROR);
+                    PopUp.showError(ex.getMessage());
+                });
+            }
+        });
+    }
+
+    // The pasted rubric is only parsed again if the HTML decoding option changed since it was pasted.
+    private ParsedRubric parsePasted(PastedRubric pasted, boolean decodeHtml) throws IOException {
+        if (pasted.decodeHtml() == decodeHtml) {
+            return pasted.parsed();
+        }
+        return this.rubricService.parseRubricCsv(pasted.csvText(), decodeHtml);
     }
 
     private void onDownloadTemplate(ActionEvent e) {
@@ -323,8 +446,8 @@ public final class RubricConfigurationController {
             return;
         }
 
-        try (PrintWriter writer = new PrintWriter(file)) {
-            writeCsvRow(writer, rubricService.defaultTemplateHeader());
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            RubricCsvWriter.writeRow(writer, rubricService.defaultTemplateHeader());
             PopUp.showInfo("Template saved", "Saved rubric CSV template to:\n" + file.getAbsolutePath());
         } catch (IOException ex) {
 
@@ -340,8 +463,11 @@ public final class RubricConfigurationController {
         }
 
         StringWriter sw = new StringWriter();
-        try (PrintWriter pw = new PrintWriter(sw)) {
-            writeCsvRow(pw, rubricService.defaultTemplateHeader());
+        try {
+            RubricCsvWriter.writeRow(sw, rubricService.defaultTemplateHeader());
+        } catch (IOException ex) {
+            PopUp.showError("Could not copy template: " + ex.getMessage());
+            return;
         }
         String header = sw.toString();
 
@@ -352,6 +478,7 @@ public final class RubricConfigurationController {
         PopUp.showInfo("Template copied", "Rubric CSV header template copied to clipboard.");
     }
 
+    // The pasted text is parsed straight into a rubric and previewed; no temporary file is written.
     private void onPasteCsvFromClipboard(ActionEvent e) {
         String csvText = Clipboard.getSystemClipboard().getString();
         if (csvText == null || csvText.trim().isEmpty()) {
@@ -359,75 +486,24 @@ public final class RubricConfigurationController {
             return;
         }
 
-        csvText = csvText.replace("\r\n", "\n").replace("\r", "\n");
-        String[] lines = csvText.split("\n");
-        if (lines.length < 2) {
-            PopUp.showError("Clipboard CSV must include a header row and at least one data row.");
-            return;
-        }
-
-        java.util.List<String> headerCells;
-        try {
-            java.io.StringReader sr = new java.io.StringReader(csvText);
-            try (org.apache.commons.csv.CSVParser parser = org.apache.commons.csv.CSVFormat.DEFAULT
-                    .builder()
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .setTrim(true)
-                    .build()
-                    .parse(sr)) {
-                headerCells = parser.getHeaderNames();
-            }
-        } catch (IOException ex) {
-            PopUp.showError("Failed to parse clipboard CSV header: " + ex.getMessage());
-            return;
-        }
-
-        if (headerCells == null || headerCells.isEmpty()) {
-            PopUp.showError("Clipboard CSV has an empty header row.");
-            return;
-        }
-
-        String[] headerArray = headerCells.toArray(String[]::new);
-
-        java.util.List<RatingGroup> ratingGroups = RatingHeaderDetector.detect(headerArray);
-
-        if (ratingGroups.size() < 2) {
-            PopUp.showError("Clipboard CSV must have at least rating1/rating1_points/rating1_desc and"
-                    + " rating2/rating2_points/rating2_desc columns.");
-            return;
-        }
-
-        java.util.Set<String> allowed = new java.util.HashSet<>();
-        allowed.add("criterion");
-        allowed.add("criterion_desc");
-        for (RatingGroup g : ratingGroups) {
-            allowed.add(g.nameColumn());
-            allowed.add(g.pointsColumn());
-            allowed.add(g.descColumn());
-        }
-
-        java.util.List<String> extra = new java.util.ArrayList<>();
-        for (String h : headerArray) {
-            if (!allowed.contains(h)) {
-                extra.add(h);
-            }
-        }
-        if (!extra.isEmpty()) {
-            PopUp.showError("Unexpected column(s) in clipboard CSV header: " + String.join(", ", extra));
-            return;
-        }
-
-        try {
-            java.nio.file.Path tempFile = java.nio.file.Files.createTempFile("canvas_rubric_", ".csv");
-            java.nio.file.Files.writeString(tempFile, csvText, java.nio.charset.StandardCharsets.UTF_8);
-            this.vm.csvPath().set(tempFile.toAbsolutePath().toString());
-            PopUp.showInfo(
-                    "Clipboard CSV saved",
-                    "Saved clipboard rubric CSV to temporary file:\n" + tempFile.toAbsolutePath());
-        } catch (IOException ex) {
-            PopUp.showError("Failed to save clipboard CSV to temporary file: " + ex.getMessage());
-        }
+        stopWatchingPreview();
+        this.pastedRubric = null;
+        this.vm.csvPath().set("");
+        boolean decodeHtml = this.vm.decodeHtml().get();
+        loadRubricPreview(
+                () -> {
+                    ParsedRubric parsed = this.rubricService.parseRubricCsv(csvText, decodeHtml);
+                    if (parsed.criteria().isEmpty()) {
+                        throw new IllegalArgumentException(
+                                "Clipboard CSV must include a header row and at least one data row.");
+                    }
+                    return parsed;
+                },
+                parsed -> {
+                    this.pastedRubric = new PastedRubric(csvText, decodeHtml, parsed);
+                    this.statusNotifier.setStatus(
+                            "Using rubric pasted from clipboard (" + parsed.criteria().size() + " criteria)");
+                });
     }
 
     private void onCopyRubricCsv(ActionEvent e) {
@@ -510,49 +586,61 @@ public final class RubricConfigurationController {
         });
     }
 
-    private void writeCsvRow(PrintWriter writer, List<String> cells) {
-        for (int i = 0; i < cells.size(); i++) {
-            if (i > 0) {
-                writer.print(",");
-            }
-            writer.print(escapeCsv(cells.get(i)));
+    private void onExportCourseRubrics(ActionEvent e) {
+        String courseId = this.vm.courseId().get().trim();
+        if (courseId.isEmpty()) {
+            PopUp.show(StandardAlert.COURSE_MISSING);
+            return;
         }
-        writer.print("\n");
-    }
 
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
+        FileChooser chooser = new FileChooser();
+        chooser.getExtensionFilters()
+                .add(new FileChooser.ExtensionFilter(FileType.ZIP.getDescription(), FileType.ZIP.getGlobs()));
+        chooser.setInitialFileName("rubrics_course_" + courseId + ".zip");
+        File file = chooser.showSaveDialog(this.stageManager.getPrimaryStage());
+        if (file == null) {
+            return;
         }
-        boolean hasSpecial =
-                value.contains(",") || value.contains("\n") || value.contains("\r") || value.contains("\"");
-        String escaped = value.replace("\"", "\"\"");
-        return hasSpecial ? "\"" + escaped + "\"" : escaped;
+
+        this.statusNotifier.setStatus("Exporting course rubrics...");
+        rubricService.exportCourseRubrics(courseId, file.toPath(), result -> Platform.runLater(() -> {
+            if (result.status() == ResultStatus.FAILURE) {
+                this.statusNotifier.setStatus(OperationStatus.ERROR);
+                PopUp.showError("Failed to Export Rubrics", result.data());
+            } else {
+                this.statusNotifier.setStatus(OperationStatus.DONE);
+                PopUp.showInfo("Rubrics Exported", result.data());
+            }
+        }));
     }
 
     private void onCsvPathChange(String newPath) {
         if (newPath.trim().isEmpty()) {
+            this.vm.previewButtonVisible().set(this.pastedRubric != null);
             return;
         }
+        this.pastedRubric = null;
         try {
             Path path = Paths.get(newPath);
-            this.vm.previewButtonVisible().set(path.getFileName().toString().endsWith(".csv"));
+            this.vm.previewButtonVisible().set(RubricSources.byExtension(path).isPresent());
         } catch (InvalidPathException _) {
             this.vm.previewButtonVisible().set(false);
         }
     }
 
-    private void onCourseSelected(Course course) {
+    private void onCourseSelected(CourseSummary course) {
         if (course == null) {
             return;
         }
         String id = course.id().toString();
         this.vm.courseId().set(id);
+        // Assignments still loading belong to the previous course.
+        this.assignmentPaneController.cancel();
         this.assignmentPaneVM.items().clear();
         this.vm.assignmentId().set("");
     }
 
-    private void onAssignmentSelected(Assignment assignment) {
+    private void onAssignmentSelected(AssignmentSummary assignment) {
         if (assignment == null) {
             return;
         }
@@ -573,6 +661,7 @@ public final class RubricConfigurationController {
 
         this.view.onDownloadRubricClick(this::onDownloadRubricCsv);
         this.view.onCopyRubricClick(this::onCopyRubricCsv);
+        this.view.onExportCourseRubricsClick(this::onExportCourseRubrics);
 
         this.view.onCreateClick(this::onCreate);
         this.view.onCsvPathChange(this::onCsvPathChange);
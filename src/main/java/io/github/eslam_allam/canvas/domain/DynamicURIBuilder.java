@@ -1,11 +1,15 @@
 package io.github.eslam_allam.canvas.domain;
 
+import java.net.URI;
 import java.net.URISyntaxException;
 import org.apache.hc.core5.net.URIBuilder;
 
 public final class DynamicURIBuilder {
+    private record ParsedBase(String raw, URI uri) {}
+
     private final URIProvider provider;
     private final URIBuilder uri;
+    private volatile ParsedBase parsedBase;
 
     private DynamicURIBuilder(URIProvider provider) {
         this.provider = provider;
@@ -27,10 +31,20 @@ public final class DynamicURIBuilder {
     }
 
     public URIBuilder newInstance() throws URISyntaxException {
-        URIBuilder builder = new URIBuilder(this.provider.getUri());
+        URIBuilder builder = new URIBuilder(baseUri());
         builder.setFragment(this.uri.getFragment());
         builder.setPath(this.uri.getPath());
         builder.addParameters(this.uri.getQueryParams());
         return builder;
     }
+
+    private URI baseUri() throws URISyntaxException {
+        String raw = this.provider.getUri();
+        ParsedBase current = this.parsedBase;
+        if (current == null || !current.raw().equals(raw)) {
+            current = new ParsedBase(raw, new URI(raw));
+            this.parsedBase = current;
+        }
+        return current.uri();
+    }
 }
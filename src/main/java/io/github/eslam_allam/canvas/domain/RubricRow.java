@@ -2,6 +2,7 @@ package io.github.eslam_allam.canvas.domain;
 
 import io.github.eslam_allam.canvas.model.canvas.RubricModels;
 import java.util.List;
+import java.util.Objects;
 
 public class RubricRow {
     private final String criterion;
@@ -31,4 +32,23 @@ public class RubricRow {
     public List<RubricModels.Rating> getRatings() {
         return ratings;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RubricRow other)) {
+            return false;
+        }
+        return Objects.equals(criterion, other.criterion)
+                && Objects.equals(description, other.description)
+                && Objects.equals(points, other.points)
+                && Objects.equals(ratings, other.ratings);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(criterion, description, points, ratings);
+    }
 }
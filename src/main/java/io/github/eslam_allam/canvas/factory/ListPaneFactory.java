@@ -4,9 +4,10 @@ import dagger.Module;
 import dagger.Provides;
 import io.github.eslam_allam.canvas.client.CanvasClient;
 import io.github.eslam_allam.canvas.controller.ListPaneController;
-import io.github.eslam_allam.canvas.model.canvas.Assignment;
-import io.github.eslam_allam.canvas.model.canvas.Course;
+import io.github.eslam_allam.canvas.model.canvas.AssignmentSummary;
+import io.github.eslam_allam.canvas.model.canvas.CourseSummary;
 import io.github.eslam_allam.canvas.notification.StatusNotifier;
+import io.github.eslam_allam.canvas.task.TaskExecutor;
 import io.github.eslam_allam.canvas.view.component.ListPane;
 import io.github.eslam_allam.canvas.view.component.SimpleListPane;
 import io.github.eslam_allam.canvas.viewmodel.ListPaneVM;
@@ -18,51 +19,55 @@ public final class ListPaneFactory {
 
     @Provides
     @Singleton
-    public static ListPaneVM<Course> coursePaneVM() {
+    public static ListPaneVM<CourseSummary> coursePaneVM() {
         return new ListPaneVM<>();
     }
 
     @Provides
     @Singleton
-    public static ListPane<Course> coursePane() {
+    public static ListPane<CourseSummary> coursePane() {
         return new SimpleListPane<>("Courses", course -> String.format("%s [%s]", course.name(), course.courseCode()));
     }
 
     @Provides
     @Singleton
-    public static ListPaneController<Course> coursePaneController(
-            ListPane<Course> coursePane,
-            ListPaneVM<Course> coursePaneVM,
+    public static ListPaneController<CourseSummary> coursePaneController(
+            ListPane<CourseSummary> coursePane,
+            ListPaneVM<CourseSummary> coursePaneVM,
             CanvasClient canvasClient,
-            StatusNotifier statusNotifier) {
-        return new ListPaneController<>(coursePane, coursePaneVM, canvasClient::listCourses, statusNotifier);
+            StatusNotifier statusNotifier,
+            TaskExecutor taskExecutor) {
+        return new ListPaneController<>(
+                coursePane, coursePaneVM, canvasClient::listCourseSummaries, statusNotifier, taskExecutor);
     }
 
     @Provides
     @Singleton
-    public static ListPaneVM<Assignment> assignmentPaneVM() {
+    public static ListPaneVM<AssignmentSummary> assignmentPaneVM() {
         return new ListPaneVM<>();
     }
 
     @Provides
     @Singleton
-    public static ListPane<Assignment> assignmentPane() {
-        return new SimpleListPane<>("Assignments", Assignment::name);
+    public static ListPane<AssignmentSummary> assignmentPane() {
+        return new SimpleListPane<>("Assignments", AssignmentSummary::name);
     }
 
     @Provides
     @Singleton
-    public static ListPaneController<Assignment> assignmentPaneController(
-            ListPane<Assignment> assignmentPane,
-            ListPaneVM<Assignment> assignmentPaneVM,
-            ListPaneVM<Course> coursePaneVM,
+    public static ListPaneController<AssignmentSummary> assignmentPaneController(
+            ListPane<AssignmentSummary> assignmentPane,
+            ListPaneVM<AssignmentSummary> assignmentPaneVM,
+            ListPaneVM<CourseSummary> coursePaneVM,
             CanvasClient canvasClient,
-            StatusNotifier statusNotifier) {
+            StatusNotifier statusNotifier,
+            TaskExecutor taskExecutor) {
         return new ListPaneController<>(
                 assignmentPane,
                 assignmentPaneVM,
-                () -> canvasClient.listAssignments(
+                () -> canvasClient.listAssignmentSummaries(
                         coursePaneVM.selected().get().id().toString()),
-                statusNotifier);
+                statusNotifier,
+                taskExecutor);
     }
 }
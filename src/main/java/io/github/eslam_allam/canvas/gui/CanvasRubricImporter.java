@@ -2,6 +2,7 @@ package io.github.eslam_allam.canvas.gui;
 
 import dagger.BindsInstance;
 import dagger.Component;
+import io.github.eslam_allam.canvas.client.CanvasClientModule;
 import io.github.eslam_allam.canvas.client.CanvasCredentialProvider;
 import io.github.eslam_allam.canvas.client.CanvasCredentialProviderModule;
 import io.github.eslam_allam.canvas.controller.ConnectionPanelController;
@@ -11,10 +12,11 @@ import io.github.eslam_allam.canvas.controller.MainController;
 import io.github.eslam_allam.canvas.controller.RubricConfigurationController;
 import io.github.eslam_allam.canvas.factory.ListPaneFactory;
 import io.github.eslam_allam.canvas.factory.SceneSwitcherFactory;
-import io.github.eslam_allam.canvas.model.canvas.Assignment;
-import io.github.eslam_allam.canvas.model.canvas.Course;
+import io.github.eslam_allam.canvas.model.canvas.AssignmentSummary;
+import io.github.eslam_allam.canvas.model.canvas.CourseSummary;
 import io.github.eslam_allam.canvas.notification.NotificationModule;
 import io.github.eslam_allam.canvas.service.PreferencesService;
+import io.github.eslam_allam.canvas.task.TaskModule;
 import io.github.eslam_allam.canvas.view.component.ConnectionPanel;
 import io.github.eslam_allam.canvas.view.component.ListPane;
 import io.github.eslam_allam.canvas.view.component.StatusLabel;
@@ -33,7 +35,9 @@ import javafx.stage.Stage;
             SceneSwitcherFactory.class,
             NotificationModule.class,
             CanvasCredentialProviderModule.class,
-            ControllerModule.class
+            CanvasClientModule.class,
+            ControllerModule.class,
+            TaskModule.class
         })
 public interface CanvasRubricImporter {
     CanvasCredentialProvider canvasCredentialProvider();
@@ -48,13 +52,13 @@ public interface CanvasRubricImporter {
 
     ConnectionPanelController connectionPanelController();
 
-    ListPaneVM<Course> courseListPaneVM();
+    ListPaneVM<CourseSummary> courseListPaneVM();
 
-    ListPane<Course> courseListPane();
+    ListPane<CourseSummary> courseListPane();
 
-    ListPaneController<Course> coursesPaneController();
+    ListPaneController<CourseSummary> coursesPaneController();
 
-    ListPaneController<Assignment> assignmentsPaneController();
+    ListPaneController<AssignmentSummary> assignmentsPaneController();
 
     RubricConfigurationController rubricConfigurationController();
 
@@ -0,0 +1,19 @@
+package io.github.eslam_allam.canvas.model.canvas;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Projection of Assignment holding only what list views need. Descriptions, nested settings and
+// statistics are skipped by the parser without being materialised.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AssignmentSummary(
+        // the ID of the assignment
+        Long id,
+        // the name of the assignment
+        String name,
+        // the ID of the course the assignment belongs to
+        @JsonProperty("course_id") Long courseId,
+        // sorting order of the assignment in the group
+        Integer position,
+        // maximum points possible for the assignment
+        @JsonProperty("points_possible") Double pointsPossible) {}
@@ -0,0 +1,17 @@
+package io.github.eslam_allam.canvas.model.canvas;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Projection of Course holding only what list views need. Every other property in the payload is
+// skipped by the parser without being materialised.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CourseSummary(
+        // the unique identifier for the course
+        Long id,
+
+        // the full name of the course
+        String name,
+
+        // the course code
+        @JsonProperty("course_code") String courseCode) {}
@@ -20,7 +20,7 @@ public final class RubricModels {
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static final record Criteria(
-            Integer points,
+            Double points,
             String id,
             @JsonProperty("learing_outcome_id") String learningOutcomeID,
             @JsonProperty("vendor_guid") String vendorGUID,
@@ -39,13 +39,33 @@ public final class RubricModels {
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static final record Settings(
-            @JsonProperty("points_possible") String pointsPossible) {}
+            Long id,
+            String title,
+            @JsonProperty("points_possible") String pointsPossible,
+            @JsonProperty("free_form_criterion_comments") Boolean freeFormCriterionComments,
+            @JsonProperty("hide_score_total") Boolean hideScoreTotal) {}
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static final record Created(
             Rubric rubric,
             @JsonProperty("rubric_association") Association rubricAssociation) {}
 
+    // A rubric as listed for a course; data holds its criteria in Canvas's shape.
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final record CourseRubric(
+            Long id,
+            String title,
+            @JsonProperty("points_possible") Double pointsPossible,
+            @JsonProperty("free_form_criterion_comments") Boolean freeFormCriterionComments,
+            List<CriterionData> data) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final record CriterionData(
+            String description,
+            @JsonProperty("long_description") String longDescription,
+            Double points,
+            List<Rating> ratings) {}
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static final record Rubric(String title, List<Criterion> criteria) {
 
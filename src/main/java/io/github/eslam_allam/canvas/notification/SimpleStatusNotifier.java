@@ -3,17 +3,49 @@ package io.github.eslam_allam.canvas.notification;
 import io.github.eslam_allam.canvas.viewmodel.StatusLabelVM;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.application.Platform;
 
 @Singleton
 public final class SimpleStatusNotifier implements StatusNotifier {
     private final StatusLabelVM vm;
+    // task id -> name of each running task, in start order
+    private final Map<Long, String> running;
 
     @Inject
     public SimpleStatusNotifier(StatusLabelVM vm) {
         this.vm = vm;
+        this.running = new LinkedHashMap<>();
     }
 
+    // Background tasks report progress too, so updates are moved onto the FX thread when needed.
     public void setStatus(String text) {
-        this.vm.text().set(text);
+        onFxThread(() -> this.vm.text().set(text));
+    }
+
+    @Override
+    public void taskEvent(long taskId, String taskName, TaskEvent event, String detail) {
+        StatusNotifier.super.taskEvent(taskId, taskName, event, detail);
+        synchronized (this.running) {
+            switch (event) {
+                case STARTED -> this.running.put(taskId, taskName);
+                case COMPLETED, CANCELLED, FAILED -> this.running.remove(taskId);
+                default -> {
+                    return;
+                }
+            }
+            String summary = this.running.isEmpty() ? "" : "Running: " + String.join(", ", this.running.values());
+            // Posted under the lock so summaries reach the FX thread in the order they were computed.
+            onFxThread(() -> this.vm.runningTasks().set(summary));
+        }
+    }
+
+    private static void onFxThread(Runnable update) {
+        if (Platform.isFxApplicationThread()) {
+            update.run();
+        } else {
+            Platform.runLater(update);
+        }
     }
 }
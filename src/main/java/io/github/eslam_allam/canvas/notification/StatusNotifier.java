@@ -8,4 +8,16 @@ public interface StatusNotifier {
     default void setStatus(OperationStatus status) {
         setStatus(status.value);
     }
+
+    // Background task lifecycle. taskId tells apart tasks with the same name; detail is the failure message for
+    // FAILED. Only events that need the user's attention become status text here, the rest is for notifiers that
+    // track running tasks.
+    default void taskEvent(long taskId, String taskName, TaskEvent event, String detail) {
+        switch (event) {
+            case REJECTED -> setStatus("Too many tasks in progress, skipped: " + taskName);
+            case WAITING -> setStatus("Waiting for other tasks: " + taskName);
+            case FAILED -> setStatus("Failed: " + taskName + " (" + detail + ")");
+            default -> {}
+        }
+    }
 }
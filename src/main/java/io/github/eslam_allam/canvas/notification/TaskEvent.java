@@ -0,0 +1,14 @@
+package io.github.eslam_allam.canvas.notification;
+
+// Lifecycle of a background task as reported by the task executor.
+public enum TaskEvent {
+    // not run because too many tasks were already pending
+    REJECTED,
+    // accepted, waiting for a free slot
+    WAITING,
+    STARTED,
+    COMPLETED,
+    // cancelled before it started, while waiting or while running
+    CANCELLED,
+    FAILED
+}
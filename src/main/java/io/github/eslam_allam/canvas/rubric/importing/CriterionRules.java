@@ -0,0 +1,95 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.util.ArrayList;
+import java.util.List;
+
+// The validation every RubricSource applies once a criterion has been read, so the same rubric is accepted or
+// rejected the same way whatever its format. Sources only read fields and name the columns used in messages.
+public final class CriterionRules {
+
+    // One rating as read from the input; points is null when the value was not numeric.
+    public record RatingInput(
+            String name,
+            Double points,
+            String longDescription,
+            String nameColumn,
+            String pointsColumn,
+            String descColumn) {}
+
+    private CriterionRules() {}
+
+    // Returns null and records the criterion's errors when it is invalid. ratingsColumn is reported when there
+    // are no ratings at all and may be null.
+    public static RubricModels.Criterion validate(
+            int row,
+            String name,
+            String nameColumn,
+            String description,
+            List<RatingInput> inputs,
+            String ratingsColumn,
+            StringPool pool,
+            List<RubricRowError> errors) {
+        int errorsBefore = errors.size();
+        if (name.isBlank()) {
+            errors.add(new RubricRowError(row, nameColumn, "empty criterion."));
+        }
+
+        List<RubricModels.Rating> ratings = new ArrayList<>(inputs.size());
+        boolean hasZeroRating = false;
+        boolean hasPositiveRating = false;
+        for (RatingInput input : inputs) {
+            boolean valid = true;
+            if (input.name().isBlank()) {
+                errors.add(new RubricRowError(row, input.nameColumn(), input.nameColumn() + " empty."));
+                valid = false;
+            }
+            if (input.longDescription().isBlank()) {
+                errors.add(new RubricRowError(row, input.descColumn(), input.descColumn() + " empty."));
+                valid = false;
+            }
+            if (input.points() == null) {
+                errors.add(new RubricRowError(row, input.pointsColumn(), input.pointsColumn() + " must be numeric."));
+                continue;
+            }
+            if (!valid) {
+                continue;
+            }
+
+            double points = input.points();
+            if (points == 0.0) {
+                hasZeroRating = true;
+            }
+            if (points > 0.0) {
+                hasPositiveRating = true;
+            }
+            ratings.add(new RubricModels.Rating(
+                    "", pool.canonical(input.name()), points, pool.canonical(input.longDescription())));
+        }
+
+        // Criterion-wide checks are only meaningful once every rating parsed cleanly.
+        if (errors.size() > errorsBefore) {
+            return null;
+        }
+        if (ratings.isEmpty()) {
+            errors.add(new RubricRowError(row, ratingsColumn, "criterion must have at least one rating."));
+            return null;
+        }
+        if (!hasZeroRating) {
+            errors.add(new RubricRowError(row, null, "criterion must include at least one rating with 0 points."));
+        }
+        if (!hasPositiveRating) {
+            errors.add(new RubricRowError(
+                    row, null, "criterion must include at least one rating with positive points."));
+        }
+        if (errors.size() > errorsBefore) {
+            return null;
+        }
+
+        double criterionPoints = ratings.stream()
+                .mapToDouble(RubricModels.Rating::points)
+                .max()
+                .orElse(0.0);
+        return new RubricModels.Criterion(name, description, criterionPoints, ratings);
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.text.translate.EntityArrays;
+
+// Drop-in replacement for StringEscapeUtils.unescapeHtml4. Text without '&' is returned as is; otherwise named
+// entities are matched against a trie built from the same commons-text tables and numeric entities follow
+// NumericEntityUnescaper with its default options, so the output is identical.
+public final class HtmlEntityDecoder {
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private String value;
+
+        private Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            int n = labels.length;
+            labels = Arrays.copyOf(labels, n + 1);
+            children = Arrays.copyOf(children, n + 1);
+            labels[n] = c;
+            children[n] = new Node();
+            return children[n];
+        }
+    }
+
+    private static final Node ROOT = buildTrie();
+
+    private HtmlEntityDecoder() {}
+
+    public static String decode(String input) {
+        if (input == null) {
+            return null;
+        }
+        int amp = input.indexOf('&');
+        if (amp < 0) {
+            return input;
+        }
+
+        StringBuilder out = new StringBuilder(input.length());
+        out.append(input, 0, amp);
+        int pos = amp;
+        int length = input.length();
+        while (pos < length) {
+            char c = input.charAt(pos);
+            if (c != '&') {
+                int next = input.indexOf('&', pos);
+                if (next < 0) {
+                    next = length;
+                }
+                out.append(input, pos, next);
+                pos = next;
+                continue;
+            }
+            int consumed = decodeNamed(input, pos, out);
+            if (consumed == 0) {
+                consumed = decodeNumeric(input, pos, out);
+            }
+            if (consumed == 0) {
+                out.append(c);
+                consumed = 1;
+            }
+            pos += consumed;
+        }
+        return out.toString();
+    }
+
+    // Longest named entity starting at index, as LookupTranslator matches it.
+    private static int decodeNamed(String input, int index, StringBuilder out) {
+        Node node = ROOT;
+        String match = null;
+        int matchLength = 0;
+        for (int i = index; i < input.length(); i++) {
+            node = node.child(input.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+                matchLength = i - index + 1;
+            }
+        }
+        if (match == null) {
+            return 0;
+        }
+        out.append(match);
+        return matchLength;
+    }
+
+    // Mirrors NumericEntityUnescaper with semiColonRequired, including what it leaves untouched.
+    private static int decodeNumeric(String input, int index, StringBuilder out) {
+        int seqEnd = input.length();
+        if (index >= seqEnd - 2 || input.charAt(index + 1) != '#') {
+            return 0;
+        }
+        int start = index + 2;
+        boolean isHex = false;
+        char firstChar = input.charAt(start);
+        if (firstChar == 'x' || firstChar == 'X') {
+            start++;
+            isHex = true;
+            if (start == seqEnd) {
+                return 0;
+            }
+        }
+        int end = start;
+        while (end < seqEnd && isHexDigit(input.charAt(end))) {
+            end++;
+        }
+        if (end == seqEnd || input.charAt(end) != ';') {
+            return 0;
+        }
+        int entityValue;
+        try {
+            entityValue = Integer.parseInt(input, start, end, isHex ? 16 : 10);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+        if (entityValue > 0xFFFF) {
+            out.append(Character.toChars(entityValue));
+        } else {
+            out.append((char) entityValue);
+        }
+        return 2 + end - start + (isHex ? 1 : 0) + 1;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
+    private static Node buildTrie() {
+        Node root = new Node();
+        for (Map<CharSequence, CharSequence> table : List.of(
+                EntityArrays.BASIC_UNESCAPE, EntityArrays.ISO8859_1_UNESCAPE, EntityArrays.HTML40_EXTENDED_UNESCAPE)) {
+            for (Map.Entry<CharSequence, CharSequence> entry : table.entrySet()) {
+                Node node = root;
+                CharSequence key = entry.getKey();
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.addChild(key.charAt(i));
+                }
+                // Earlier tables win, as in the AggregateTranslator used by unescapeHtml4.
+                if (node.value == null) {
+                    node.value = entry.getValue().toString();
+                }
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,6 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.util.List;
+
+public record ParsedRubric(List<RubricModels.Criterion> criteria, double totalPoints) {}
@@ -0,0 +1,63 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Content hash of a rubric's criteria: names, descriptions, points and ratings in order. Titles and IDs are left
+// out, and missing text counts as empty and 2.0 equals 2, so a rubric read back from Canvas hashes the same as
+// the criteria it was created from.
+public final class RubricFingerprint {
+
+    private RubricFingerprint() {}
+
+    public static String of(List<RubricModels.Criterion> criteria) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        update(digest, Integer.toString(criteria.size()));
+        for (RubricModels.Criterion criterion : criteria) {
+            update(digest, criterion.name());
+            update(digest, criterion.description());
+            update(digest, number(criterion.points()));
+            List<RubricModels.Rating> ratings = criterion.ratings() == null ? List.of() : criterion.ratings();
+            update(digest, Integer.toString(ratings.size()));
+            for (RubricModels.Rating rating : ratings) {
+                update(digest, rating.description());
+                update(digest, number(rating.points() == null ? 0.0 : rating.points()));
+                update(digest, rating.longDescription());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Criteria in the shape Canvas returns them on an assignment, hashed as the criteria they were created from.
+    public static String ofCanvas(List<RubricModels.Criteria> criteria) {
+        return of(criteria.stream()
+                .map(criterion -> new RubricModels.Criterion(
+                        criterion.description(),
+                        criterion.longDescription(),
+                        criterion.points() == null ? 0.0 : criterion.points(),
+                        criterion.ratings()))
+                .toList());
+    }
+
+    // Length-prefixed so that field boundaries cannot be shifted to produce the same bytes.
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = (value == null ? "" : value.trim()).getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static String number(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+public record RubricParseOptions(
+        // decode HTML entities such as &amp;lt; in text cells
+        boolean decodeHtmlEntities,
+        // stop at the first invalid row instead of collecting every error
+        boolean failFast,
+        // shares repeated rating text between criteria
+        StringPool stringPool) {
+
+    public RubricParseOptions {
+        if (stringPool == null) {
+            stringPool = StringPool.disabled();
+        }
+    }
+
+    public RubricParseOptions(boolean decodeHtmlEntities, boolean failFast) {
+        this(decodeHtmlEntities, failFast, StringPool.disabled());
+    }
+
+    // For parses that keep every criterion in memory, so rating text is pooled.
+    public static RubricParseOptions of(boolean decodeHtmlEntities) {
+        return new RubricParseOptions(decodeHtmlEntities, false, StringPool.create());
+    }
+}
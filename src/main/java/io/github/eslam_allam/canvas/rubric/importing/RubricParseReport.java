@@ -0,0 +1,15 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import java.util.List;
+
+// Outcome of a streaming parse: how many valid criteria were emitted and every row-level error found.
+public record RubricParseReport(int criteriaCount, double totalPoints, List<RubricRowError> errors) {
+
+    public RubricParseReport {
+        errors = List.copyOf(errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+// One validation problem found in a rubric file. Column is null when the problem concerns the whole row.
+public record RubricRowError(int row, String column, String message) {
+
+    public String describe() {
+        return "Row " + row + ": " + message;
+    }
+}
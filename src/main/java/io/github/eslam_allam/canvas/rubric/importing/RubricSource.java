@@ -0,0 +1,37 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import io.github.eslam_allam.canvas.constant.FileType;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// A rubric input format. Built-in sources cover CSV, TSV and JSON; further formats can be added by providing
+// an implementation through ServiceLoader. Every source streams valid criteria to the consumer and reports
+// row-level problems the same way CsvRubricParser does.
+public interface RubricSource {
+
+    // Short identifier used on the command line, e.g. "csv".
+    String name();
+
+    FileType fileType();
+
+    // Whether the start of a file's content looks like this format; used when the extension is unknown.
+    boolean sniff(String head);
+
+    RubricParseReport parse(
+            Reader reader, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException;
+
+    default RubricParseReport parse(
+            Path path, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader, options, consumer);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import io.github.eslam_allam.canvas.constant.FileType;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.csv.CsvRubricSource;
+import io.github.eslam_allam.canvas.rubric.importing.csv.TsvRubricSource;
+import io.github.eslam_allam.canvas.rubric.importing.json.JsonRubricSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+
+// Picks the RubricSource for a file: by extension first, then by sniffing the start of its content.
+public final class RubricSources {
+
+    private static final int SNIFF_CHARS = 4096;
+
+    private static final List<RubricSource> SOURCES = loadSources();
+
+    private RubricSources() {}
+
+    public static List<RubricSource> all() {
+        return SOURCES;
+    }
+
+    public static Optional<RubricSource> byName(String name) {
+        return SOURCES.stream().filter(source -> source.name().equalsIgnoreCase(name)).findFirst();
+    }
+
+    public static Optional<RubricSource> byExtension(Path path) {
+        String fileName = path.getFileName() == null ? "" : path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return Optional.empty();
+        }
+        String extension = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        for (RubricSource source : SOURCES) {
+            for (String candidate : source.fileType().getExtensions()) {
+                if (candidate.equals(extension)) {
+                    return Optional.of(source);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static RubricSource forPath(Path path) throws IOException {
+        Optional<RubricSource> byExtension = byExtension(path);
+        if (byExtension.isPresent()) {
+            return byExtension.get();
+        }
+        String head = readHead(path);
+        for (RubricSource source : SOURCES) {
+            if (source.sniff(head)) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("Unrecognised rubric format: " + path);
+    }
+
+    public static RubricParseReport parse(
+            Path path, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        return forPath(path).parse(path, options, consumer);
+    }
+
+    // Collects every criterion in memory; any invalid row fails the whole parse with all errors listed.
+    public static ParsedRubric parse(Path path, boolean decodeHtmlEntities) throws IOException {
+        return parse(forPath(path), path, decodeHtmlEntities);
+    }
+
+    public static ParsedRubric parse(RubricSource source, Path path, boolean decodeHtmlEntities) throws IOException {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        RubricParseReport report = source.parse(path, RubricParseOptions.of(decodeHtmlEntities), criteria::add);
+        if (!report.isValid()) {
+            throw new RubricValidationException(report.errors());
+        }
+        return new ParsedRubric(criteria, report.totalPoints());
+    }
+
+    public static FileType[] fileTypes() {
+        return SOURCES.stream().map(RubricSource::fileType).distinct().toArray(FileType[]::new);
+    }
+
+    private static String readHead(Path path) throws IOException {
+        char[] buffer = new char[SNIFF_CHARS];
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            int read = reader.read(buffer);
+            return read <= 0 ? "" : new String(buffer, 0, read);
+        }
+    }
+
+    // Sniffing runs in this order. JSON goes first because its opening bracket is unambiguous; CSV accepts
+    // any text, so it stays last as the fallback.
+    private static List<RubricSource> loadSources() {
+        List<RubricSource> sources = new ArrayList<>();
+        sources.add(new JsonRubricSource());
+        sources.add(new TsvRubricSource());
+        for (RubricSource source : ServiceLoader.load(RubricSource.class)) {
+            sources.add(source);
+        }
+        sources.add(new CsvRubricSource());
+        return List.copyOf(sources);
+    }
+}
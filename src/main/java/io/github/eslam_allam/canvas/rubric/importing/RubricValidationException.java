@@ -0,0 +1,17 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class RubricValidationException extends IllegalArgumentException {
+    private final List<RubricRowError> errors;
+
+    public RubricValidationException(List<RubricRowError> errors) {
+        super(errors.stream().map(RubricRowError::describe).collect(Collectors.joining("\n")));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<RubricRowError> errors() {
+        return this.errors;
+    }
+}
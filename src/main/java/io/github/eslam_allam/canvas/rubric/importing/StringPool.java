@@ -0,0 +1,38 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Canonicalizes repeated cell text for the duration of one parse. Rubric banks repeat the same rating labels
+// and descriptions on every row, so retained criteria share one String per distinct value instead of a copy
+// per cell. Safe for the parallel chunk workers; dropped with the options once the parse is done.
+public final class StringPool {
+
+    private static final StringPool DISABLED = new StringPool(null);
+
+    private final ConcurrentHashMap<String, String> values;
+
+    private StringPool(ConcurrentHashMap<String, String> values) {
+        this.values = values;
+    }
+
+    public static StringPool create() {
+        return new StringPool(new ConcurrentHashMap<>());
+    }
+
+    // Returns every value unchanged; for parses whose criteria are not kept.
+    public static StringPool disabled() {
+        return DISABLED;
+    }
+
+    public String canonical(String value) {
+        if (this.values == null || value == null || value.isEmpty()) {
+            return value;
+        }
+        String existing = this.values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return this.values == null ? 0 : this.values.size();
+    }
+}
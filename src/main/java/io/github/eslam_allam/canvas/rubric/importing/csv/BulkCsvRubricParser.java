@@ -0,0 +1,315 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricRowError;
+import io.github.eslam_allam.canvas.rubric.importing.RubricValidationException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+// Parses large CSV rubric banks in parallel. The file is memory-mapped and split into chunks that end on a
+// line break (LF, CRLF or a bare CR) outside quoted fields; chunks are decoded and validated on the common
+// ForkJoinPool and their results are emitted in file order, with row numbers and errors identical to
+// CsvRubricParser.
+final class BulkCsvRubricParser {
+
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final long MAX_CHUNK_BYTES = 16L << 20;
+
+    // Outcome of one non-empty record: a criterion, or the errors found with chunk-local row numbers.
+    private record RowOutcome(int localRow, RubricModels.Criterion criterion, List<RubricRowError> errors) {}
+
+    private record ChunkResult(int records, List<RowOutcome> outcomes, Exception failure) {}
+
+    // A submitted chunk. Whoever claims it first decides: the worker parses it, or the caller abandons it
+    // and the worker skips it. Once the worker has claimed it, finished tells when it no longer reads the file.
+    private static final class Chunk {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private Future<ChunkResult> result;
+
+        private ChunkResult run(
+                MemorySegment file, long start, long end, RubricHeaderSchema schema, RubricParseOptions options) {
+            if (!this.claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return parseChunk(file, start, end, schema, options);
+            } finally {
+                this.finished.countDown();
+            }
+        }
+
+        // Returns once no worker can touch the file on behalf of this chunk.
+        private void abandon() {
+            if (this.claimed.compareAndSet(false, true)) {
+                this.result.cancel(false);
+                return;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.finished.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private BulkCsvRubricParser() {}
+
+    static RubricParseReport parse(
+            Path csvPath, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        return parse(csvPath, options, consumer, 0);
+    }
+
+    // chunkBytes of 0 sizes chunks from the file and the pool; a fixed size lets boundaries land anywhere.
+    static RubricParseReport parse(
+            Path csvPath,
+            RubricParseOptions options,
+            Consumer<? super RubricModels.Criterion> consumer,
+            long chunkBytes)
+            throws IOException {
+        try (Arena arena = Arena.ofShared();
+                FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+
+            long headerEnd = headerEnd(file);
+            RubricHeaderSchema schema;
+            try (CSVParser header =
+                    CsvRubricParser.withHeader(CSVFormat.DEFAULT).parse(new StringReader(decode(file, 0, headerEnd)))) {
+                schema = CsvRubricParser.readSchema(header);
+            }
+
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            long bytes = chunkBytes > 0
+                    ? chunkBytes
+                    : Math.clamp(
+                            (file.byteSize() - headerEnd) / (parallelism * 4L), MIN_CHUNK_BYTES, MAX_CHUNK_BYTES);
+            return parseChunks(file, headerEnd, bytes, parallelism * 2, schema, options, consumer);
+        }
+    }
+
+    private static RubricParseReport parseChunks(
+            MemorySegment file,
+            long start,
+            long chunkBytes,
+            int window,
+            RubricHeaderSchema schema,
+            RubricParseOptions options,
+            Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        Deque<Chunk> pending = new ArrayDeque<>();
+        List<RubricRowError> errors = new ArrayList<>();
+        int count = 0;
+        double total = 0.0;
+        int rowOffset = 1; // header is row 1
+        long next = start;
+        try {
+            while (next < file.byteSize() || !pending.isEmpty()) {
+                // Keep a bounded number of chunks in flight so memory does not grow with the file.
+                while (next < file.byteSize() && pending.size() < window) {
+                    long chunkStart = next;
+                    long chunkEnd = recordBoundary(file, chunkStart, chunkBytes);
+                    Chunk submitted = new Chunk();
+                    submitted.result = ForkJoinPool.commonPool()
+                            .submit(() -> submitted.run(file, chunkStart, chunkEnd, schema, options));
+                    pending.add(submitted);
+                    next = chunkEnd;
+                }
+
+                ChunkResult chunk = await(pending.peekFirst().result);
+                pending.removeFirst();
+                for (RowOutcome outcome : chunk.outcomes()) {
+                    int row = rowOffset + outcome.localRow();
+                    if (!outcome.errors().isEmpty()) {
+                        List<RubricRowError> rowErrors = outcome.errors().stream()
+                                .map(error -> new RubricRowError(row, error.column(), error.message()))
+                                .toList();
+                        if (options.failFast()) {
+                            throw new RubricValidationException(rowErrors);
+                        }
+                        errors.addAll(rowErrors);
+                        continue;
+                    }
+                    consumer.accept(outcome.criterion());
+                    count++;
+                    total += outcome.criterion().points();
+                }
+                if (chunk.failure() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (chunk.failure() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                rowOffset += chunk.records();
+            }
+        } finally {
+            // Workers read the mapped file, so none may outlive the arena: chunks not yet started are skipped
+            // and running ones are waited for.
+            for (Chunk chunk : pending) {
+                chunk.abandon();
+            }
+        }
+        return new RubricParseReport(count, total, errors);
+    }
+
+    // Records are numbered from 1 within the chunk. A malformed record stops the chunk the same way it stops
+    // the sequential parser: everything before it is kept and the failure is rethrown in order.
+    private static ChunkResult parseChunk(
+            MemorySegment file, long start, long end, RubricHeaderSchema schema, RubricParseOptions options) {
+        List<RowOutcome> outcomes = new ArrayList<>();
+        int records = 0;
+        try (CSVParser parser = CSVFormat.DEFAULT
+                .builder()
+                .setTrim(true)
+                .build()
+                .parse(new StringReader(decode(file, start, end)))) {
+            for (CSVRecord record : parser) {
+                records++;
+                if (record.size() == 0) {
+                    continue;
+                }
+                List<RubricRowError> rowErrors = new ArrayList<>();
+                RubricModels.Criterion criterion =
+                        CsvRubricParser.decodeRow(record, records, schema, options, rowErrors);
+                outcomes.add(new RowOutcome(records, criterion, rowErrors));
+            }
+        } catch (IOException | RuntimeException ex) {
+            return new ChunkResult(records, outcomes, ex);
+        }
+        return new ChunkResult(records, outcomes, null);
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing rubric chunks");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    // The header is the first record that is not an empty line, matching CSVFormat's ignoreEmptyLines.
+    static long headerEnd(MemorySegment file) {
+        long size = file.byteSize();
+        boolean seenContent = false;
+        boolean fieldStart = true;
+        boolean quoted = false;
+        for (long i = 0; i < size; i++) {
+            byte b = file.get(ValueLayout.JAVA_BYTE, i);
+            if (quoted) {
+                if (b == '"') {
+                    if (i + 1 < size && file.get(ValueLayout.JAVA_BYTE, i + 1) == '"') {
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                }
+                continue;
+            }
+            if (b == '\n') {
+                if (seenContent) {
+                    return i + 1;
+                }
+                fieldStart = true;
+                continue;
+            }
+            if (b == '\r') {
+                // A bare CR ends a record; in CRLF the LF does.
+                if (seenContent && !followedByLf(file, i)) {
+                    return i + 1;
+                }
+                fieldStart = true;
+                continue;
+            }
+            seenContent = true;
+            if (b == '"' && fieldStart) {
+                quoted = true;
+            }
+            fieldStart = b == ',';
+        }
+        return size;
+    }
+
+    // First line break outside a quoted field at or after start + chunkBytes, or the end of the file. Quotes only
+    // open a field when they are its first character, as in CSVFormat.DEFAULT; elsewhere they are literal.
+    // The scan starts at a record boundary, so the quote state is known to be clear there.
+    static long recordBoundary(MemorySegment file, long start, long chunkBytes) {
+        long size = file.byteSize();
+        long target = Math.min(size, start + chunkBytes);
+        boolean fieldStart = true;
+        boolean quoted = false;
+        for (long i = start; i < size; i++) {
+            byte b = file.get(ValueLayout.JAVA_BYTE, i);
+            if (quoted) {
+                if (b == '"') {
+                    if (i + 1 < size && file.get(ValueLayout.JAVA_BYTE, i + 1) == '"') {
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                }
+                continue;
+            }
+            if (b == '\n' || b == '\r' && !followedByLf(file, i)) {
+                if (i + 1 >= target) {
+                    return i + 1;
+                }
+                fieldStart = true;
+            } else if (b == '\r' || b == ',') {
+                fieldStart = true;
+            } else {
+                quoted = b == '"' && fieldStart;
+                fieldStart = false;
+            }
+        }
+        return size;
+    }
+
+    private static boolean followedByLf(MemorySegment file, long index) {
+        return index + 1 < file.byteSize() && file.get(ValueLayout.JAVA_BYTE, index + 1) == '\n';
+    }
+
+    // A CR or LF byte never occurs inside a multi-byte UTF-8 sequence, so chunks always decode on their own.
+    static String decode(MemorySegment file, long start, long end) throws CharacterCodingException {
+        return StandardCharsets.UTF_8
+                .newDecoder()
+                .decode(file.asSlice(start, end - start).asByteBuffer())
+                .toString();
+    }
+}
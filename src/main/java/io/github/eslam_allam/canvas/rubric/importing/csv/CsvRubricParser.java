@@ -1,55 +1,84 @@
 package io.github.eslam_allam.canvas.rubric.importing.csv;
 
 import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.CriterionRules;
+import io.github.eslam_allam.canvas.rubric.importing.HtmlEntityDecoder;
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricRowError;
+import io.github.eslam_allam.canvas.rubric.importing.RubricValidationException;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.text.StringEscapeUtils;
 
 public final class CsvRubricParser {
 
-    public record ParsedRubric(List<RubricModels.Criterion> criteria, double totalPoints) {}
+    // Files at least this large are memory-mapped and parsed in parallel chunks.
+    private static final long BULK_THRESHOLD_BYTES = 8L << 20;
 
     private CsvRubricParser() {}
 
+    // Collects every criterion in memory; any invalid row fails the whole parse with all errors listed.
     public static ParsedRubric parse(Path csvPath, boolean decodeHtmlEntities) throws IOException {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        RubricParseReport report = parse(csvPath, RubricParseOptions.of(decodeHtmlEntities), criteria::add);
+        if (!report.isValid()) {
+            throw new RubricValidationException(report.errors());
+        }
+        return new ParsedRubric(criteria, report.totalPoints());
+    }
 
-        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8);
-                CSVParser parser = CSVFormat.DEFAULT
-                        .builder()
-                        .setHeader()
-                        .setSkipHeaderRecord(true)
-                        .setTrim(true)
-                        .build()
-                        .parse(reader)) {
-
-            List<String> headerList = parser.getHeaderNames();
-            if (headerList == null || headerList.isEmpty()) {
-                throw new IllegalArgumentException("CSV has no header row.");
-            }
-            String[] headers = headerList.toArray(String[]::new);
-
-            int criterionIdx = indexOf(headers, "criterion");
-            int criterionDescIdx = indexOf(headers, "criterion_desc");
-            if (criterionIdx < 0) {
-                throw new IllegalArgumentException("CSV must contain 'criterion' column.");
-            }
+    // Same as above for CSV text that is not in a file, such as a pasted rubric.
+    public static ParsedRubric parse(Reader reader, boolean decodeHtmlEntities) throws IOException {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        RubricParseReport report = parse(reader, RubricParseOptions.of(decodeHtmlEntities), criteria::add);
+        if (!report.isValid()) {
+            throw new RubricValidationException(report.errors());
+        }
+        return new ParsedRubric(criteria, report.totalPoints());
+    }
 
-            var ratingGroups = RatingHeaderDetector.detect(headers);
-            if (ratingGroups.size() < 2) {
-                throw new IllegalArgumentException("CSV must have at least rating1/rating1_points/rating1_desc, etc.");
-            }
+    public static RubricParseReport parse(
+            Path csvPath, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        if (Files.size(csvPath) >= BULK_THRESHOLD_BYTES) {
+            return BulkCsvRubricParser.parse(csvPath, options, consumer);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            return parse(reader, options, consumer);
+        }
+    }
 
-            validateNoExtraColumns(headers, ratingGroups);
+    public static RubricParseReport parse(
+            Reader reader, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        return parse(reader, CSVFormat.DEFAULT, options, consumer);
+    }
 
-            List<RubricModels.Criterion> criteria = new ArrayList<>();
+    // Streams valid criteria to the consumer as rows are read. Header problems are thrown immediately;
+    // row problems are collected into the report, or thrown at the first one when failing fast. The format
+    // only decides delimiters and quoting, so the same rules apply to TSV and other delimited text.
+    public static RubricParseReport parse(
+            Reader reader,
+            CSVFormat format,
+            RubricParseOptions options,
+            Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        try (CSVParser parser = withHeader(format).parse(reader)) {
+            RubricHeaderSchema schema = readSchema(parser);
+
+            List<RubricRowError> errors = new ArrayList<>();
+            int count = 0;
             double total = 0.0;
             int rowNum = 1; // header is row 1
             for (CSVRecord record : parser) {
@@ -58,106 +87,68 @@ public final class CsvRubricParser {
                     continue;
                 }
 
-                String criterion = normalizeText(record.get(criterionIdx).trim(), decodeHtmlEntities);
-
-                if (criterion.isEmpty()) {
-                    throw new IllegalArgumentException("Row " + rowNum + ": empty criterion.");
-                }
-
-                String desc = criterionDescIdx >= 0
-                        ? normalizeText(record.get(criterionDescIdx).trim(), decodeHtmlEntities)
-                        : "";
-
-                List<RubricModels.Rating> ratings = new ArrayList<>();
-                boolean hasZeroRating = false;
-                boolean hasPositiveRating = false;
-                for (RatingHeaderDetector.RatingGroup g : ratingGroups) {
-                    String name = normalizeText(getField(record, headers, g.nameColumn()), decodeHtmlEntities);
-                    String ptsRaw = getField(record, headers, g.pointsColumn());
-                    String longDesc = normalizeText(getField(record, headers, g.descColumn()), decodeHtmlEntities);
-
-                    if (name.isBlank() && ptsRaw.isBlank() && longDesc.isBlank()) {
-                        continue;
-                    }
-
-                    if (name.isBlank()) {
-                        throw new IllegalArgumentException("Row " + rowNum + ": " + g.nameColumn() + " empty.");
-                    }
-
-                    if (longDesc.isBlank()) {
-                        throw new IllegalArgumentException("Row " + rowNum + ": " + g.descColumn() + " empty.");
-                    }
-
-                    double ratingPts =
-                            parseDouble(ptsRaw, "Row " + rowNum + ": " + g.pointsColumn() + " must be numeric.");
-
-                    if (ratingPts == 0.0) {
-                        hasZeroRating = true;
-                    }
-                    if (ratingPts > 0.0) {
-                        hasPositiveRating = true;
+                int errorsBefore = errors.size();
+                RubricModels.Criterion criterion =
+                        decodeRow(record, rowNum, schema, options, errors);
+                if (errors.size() > errorsBefore) {
+                    if (options.failFast()) {
+                        throw new RubricValidationException(errors.subList(errorsBefore, errors.size()));
                     }
-
-                    ratings.add(new RubricModels.Rating("", name, ratingPts, longDesc));
-                }
-
-                if (ratings.isEmpty()) {
-                    throw new IllegalArgumentException("Row " + rowNum + ": criterion must have at least one rating.");
-                }
-
-                if (!hasZeroRating) {
-                    throw new IllegalArgumentException(
-                            "Row " + rowNum + ": criterion must include at least one rating with 0" + " points.");
-                }
-
-                if (!hasPositiveRating) {
-                    throw new IllegalArgumentException("Row "
-                            + rowNum
-                            + ": criterion must include at least one rating with"
-                            + " positive points.");
+                    continue;
                 }
 
-                double criterionPoints = ratings.stream()
-                        .mapToDouble(RubricModels.Rating::points)
-                        .max()
-                        .orElse(0.0);
-
-                criteria.add(new RubricModels.Criterion(criterion, desc, criterionPoints, ratings));
-                total += criterionPoints;
+                consumer.accept(criterion);
+                count++;
+                total += criterion.points();
             }
 
-            return new ParsedRubric(criteria, total);
+            return new RubricParseReport(count, total, errors);
         }
     }
 
-    private static void validateNoExtraColumns(String[] headers, List<RatingHeaderDetector.RatingGroup> ratingGroups) {
-        var allowed = new java.util.HashSet<String>();
-        allowed.add("criterion");
-        allowed.add("criterion_desc");
+    static CSVFormat withHeader(CSVFormat format) {
+        return format.builder().setHeader().setSkipHeaderRecord(true).setTrim(true).build();
+    }
 
-        for (RatingHeaderDetector.RatingGroup g : ratingGroups) {
-            allowed.add(g.nameColumn());
-            allowed.add(g.pointsColumn());
-            allowed.add(g.descColumn());
-        }
-        List<String> extra = new ArrayList<>();
-        for (String h : headers) {
-            if (!allowed.contains(h)) {
-                extra.add(h);
-            }
-        }
-        if (!extra.isEmpty()) {
-            throw new IllegalArgumentException("Unexpected column(s) in header: " + String.join(", ", extra));
-        }
+    static RubricHeaderSchema readSchema(CSVParser parser) {
+        return RubricHeaderSchema.compile(parser.getHeaderNames());
     }
 
-    private static int indexOf(String[] arr, String value) {
-        for (int i = 0; i < arr.length; i++) {
-            if (arr[i].equals(value)) {
-                return i;
+    // Returns null and records the row's errors when it is invalid.
+    static RubricModels.Criterion decodeRow(
+            CSVRecord record,
+            int rowNum,
+            RubricHeaderSchema schema,
+            RubricParseOptions options,
+            List<RubricRowError> errors) {
+        boolean decodeHtmlEntities = options.decodeHtmlEntities();
+
+        String criterion = normalizeText(getField(record, schema.criterion()), decodeHtmlEntities);
+        String desc = normalizeText(getField(record, schema.criterionDesc()), decodeHtmlEntities);
+
+        List<CriterionRules.RatingInput> ratings = new ArrayList<>();
+        for (RubricHeaderSchema.RatingColumns columns : schema.ratings()) {
+            RatingHeaderDetector.RatingGroup g = columns.group();
+            String name = normalizeText(getField(record, columns.name()), decodeHtmlEntities);
+            String ptsRaw = getField(record, columns.points());
+            String longDesc = normalizeText(getField(record, columns.desc()), decodeHtmlEntities);
+
+            if (name.isBlank() && ptsRaw.isBlank() && longDesc.isBlank()) {
+                continue;
+            }
+
+            Double ratingPts;
+            try {
+                ratingPts = Double.parseDouble(ptsRaw.trim());
+            } catch (NumberFormatException ex) {
+                ratingPts = null;
             }
+            ratings.add(new CriterionRules.RatingInput(
+                    name, ratingPts, longDesc, g.nameColumn(), g.pointsColumn(), g.descColumn()));
         }
-        return -1;
+
+        return CriterionRules.validate(
+                rowNum, criterion, "criterion", desc, ratings, null, options.stringPool(), errors);
     }
 
     private static String normalizeText(String s, boolean decodeHtmlEntities) {
@@ -167,23 +158,13 @@ public final class CsvRubricParser {
         if (!decodeHtmlEntities) {
             return s;
         }
-        return StringEscapeUtils.unescapeHtml4(s);
+        return HtmlEntityDecoder.decode(s);
     }
 
-    private static String getField(CSVRecord record, String[] header, String columnName) {
-
-        int idx = indexOf(header, columnName);
+    private static String getField(CSVRecord record, int idx) {
         if (idx < 0 || idx >= record.size()) {
             return "";
         }
         return record.get(idx).trim();
     }
-
-    private static double parseDouble(String value, String errorMessage) {
-        try {
-            return Double.parseDouble(value.trim());
-        } catch (NumberFormatException ex) {
-            throw new IllegalArgumentException(errorMessage, ex);
-        }
-    }
 }
@@ -0,0 +1,43 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import io.github.eslam_allam.canvas.constant.FileType;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+public final class CsvRubricSource implements RubricSource {
+
+    @Override
+    public String name() {
+        return "csv";
+    }
+
+    @Override
+    public FileType fileType() {
+        return FileType.CSV;
+    }
+
+    @Override
+    public boolean sniff(String head) {
+        return true;
+    }
+
+    @Override
+    public RubricParseReport parse(
+            Reader reader, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        return CsvRubricParser.parse(reader, options, consumer);
+    }
+
+    @Override
+    public RubricParseReport parse(
+            Path path, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        return CsvRubricParser.parse(path, options, consumer);
+    }
+}
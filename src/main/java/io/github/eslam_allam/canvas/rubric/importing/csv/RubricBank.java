@@ -0,0 +1,300 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricRowError;
+import io.github.eslam_allam.canvas.rubric.importing.RubricValidationException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+// A master CSV of criteria with a binary index kept next to it (<file>.idx). The index maps each criterion name
+// to the byte range of its record, so a slice such as "CS101-*" is read by seeking to the matching records
+// instead of parsing the whole file. It is rebuilt whenever the CSV's content hash no longer matches, including
+// when the CSV is edited while the bank is open.
+public final class RubricBank {
+
+    private static final int MAGIC = 0x52424958; // "RBIX"
+    // 2: records also end on a bare CR
+    private static final int VERSION = 2;
+    private static final String INDEX_SUFFIX = ".idx";
+    // Modification times this close to the build may not change on a later write, so they are not trusted.
+    private static final long RACY_WINDOW_MILLIS = 2_000;
+
+    // row is the record's 1-based row in the CSV, header included, so errors point at the master file.
+    private record Entry(String name, long offset, int length, int row) {}
+
+    private record Stamp(long size, long modifiedMillis) {}
+
+    // The index as loaded for one version of the CSV. An untrusted stamp was too recent to rule out a later write
+    // with the same size and modification time, so it is checked against the content again before use.
+    private record Loaded(Stamp stamp, boolean trusted, long headerLength, List<Entry> entries) {}
+
+    private final Path csvPath;
+    private Loaded loaded;
+
+    private RubricBank(Path csvPath, Loaded loaded) {
+        this.csvPath = csvPath;
+        this.loaded = loaded;
+    }
+
+    public static Path indexPath(Path csvPath) {
+        return csvPath.resolveSibling(csvPath.getFileName() + INDEX_SUFFIX);
+    }
+
+    // Loads the index, building or rebuilding it first when it is missing or out of date.
+    public static RubricBank open(Path csvPath) throws IOException {
+        Path csv = csvPath.toAbsolutePath().normalize();
+        return new RubricBank(csv, load(csv));
+    }
+
+    private static Loaded load(Path csv) throws IOException {
+        Path index = indexPath(csv);
+        Stamp stamp = stamp(csv);
+        boolean trusted = System.currentTimeMillis() - stamp.modifiedMillis() > RACY_WINDOW_MILLIS;
+
+        byte[] hash = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+                Stamp indexed = new Stamp(in.readLong(), in.readLong());
+                byte[] indexedHash = in.readNBytes(32);
+                boolean current = indexed.equals(stamp) && indexed.modifiedMillis() != 0;
+                if (!current) {
+                    hash = contentHash(csv);
+                    current = Arrays.equals(hash, indexedHash);
+                }
+                if (current) {
+                    long headerLength = in.readLong();
+                    int count = in.readInt();
+                    List<Entry> entries = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        String name = new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+                        entries.add(new Entry(name, in.readLong(), in.readInt(), in.readInt()));
+                    }
+                    return new Loaded(stamp, trusted, headerLength, List.copyOf(entries));
+                }
+            }
+        } catch (NoSuchFileException ex) {
+            // Not built yet.
+        } catch (IOException ex) {
+            // Truncated or unreadable; rebuild it.
+        }
+        return build(csv, stamp, trusted);
+    }
+
+    // The index for the CSV as it is now; an edit since it was loaded makes it reload, rebuilding if needed.
+    private synchronized Loaded current() throws IOException {
+        if (!this.loaded.trusted() || !stamp(this.csvPath).equals(this.loaded.stamp())) {
+            this.loaded = load(this.csvPath);
+        }
+        return this.loaded;
+    }
+
+    public int size() throws IOException {
+        return current().entries().size();
+    }
+
+    public List<String> names() throws IOException {
+        return current().entries().stream().map(Entry::name).toList();
+    }
+
+    // Parses the criteria whose names match the glob (* and ?), in file order, with the same validation and
+    // row numbers as parsing the whole CSV.
+    public RubricParseReport parse(
+            String glob, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        Pattern pattern = globPattern(glob);
+        Loaded index = current();
+        List<Entry> selected = index.entries().stream()
+                .filter(entry -> pattern.matcher(entry.name()).matches())
+                .toList();
+
+        List<RubricRowError> errors = new ArrayList<>();
+        int count = 0;
+        double total = 0.0;
+        try (FileChannel channel = FileChannel.open(this.csvPath, StandardOpenOption.READ)) {
+            RubricHeaderSchema schema;
+            try (CSVParser header = CsvRubricParser.withHeader(CSVFormat.DEFAULT)
+                    .parse(new StringReader(read(channel, 0, index.headerLength())))) {
+                schema = CsvRubricParser.readSchema(header);
+            }
+            CSVFormat recordFormat = CSVFormat.DEFAULT.builder().setTrim(true).build();
+            for (Entry entry : selected) {
+                CSVRecord record;
+                try (CSVParser parser =
+                        recordFormat.parse(new StringReader(read(channel, entry.offset(), entry.length())))) {
+                    record = parser.iterator().next();
+                }
+                int errorsBefore = errors.size();
+                RubricModels.Criterion criterion =
+                        CsvRubricParser.decodeRow(record, entry.row(), schema, options, errors);
+                if (errors.size() > errorsBefore) {
+                    if (options.failFast()) {
+                        throw new RubricValidationException(errors.subList(errorsBefore, errors.size()));
+                    }
+                    continue;
+                }
+                consumer.accept(criterion);
+                count++;
+                total += criterion.points();
+            }
+        }
+        if (!stamp(this.csvPath).equals(index.stamp())) {
+            throw new IOException("Rubric bank changed while reading: " + this.csvPath);
+        }
+        return new RubricParseReport(count, total, errors);
+    }
+
+    private static Loaded build(Path csv, Stamp stamp, boolean trusted) throws IOException {
+        long headerLength;
+        List<Entry> entries = new ArrayList<>();
+        byte[] hash;
+        try (Arena arena = Arena.ofConfined();
+                FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            hash = digest(file.asByteBuffer());
+
+            headerLength = BulkCsvRubricParser.headerEnd(file);
+            int criterionColumn;
+            try (CSVParser header = CsvRubricParser.withHeader(CSVFormat.DEFAULT)
+                    .parse(new StringReader(BulkCsvRubricParser.decode(file, 0, headerLength)))) {
+                criterionColumn = CsvRubricParser.readSchema(header).criterion();
+            }
+
+            CSVFormat recordFormat = CSVFormat.DEFAULT.builder().setTrim(true).build();
+            int row = 1;
+            long start = headerLength;
+            while (start < file.byteSize()) {
+                long end = BulkCsvRubricParser.recordBoundary(file, start, 1);
+                try (CSVParser parser =
+                        recordFormat.parse(new StringReader(BulkCsvRubricParser.decode(file, start, end)))) {
+                    // Blank lines are not records, matching how the sequential parser numbers rows.
+                    for (CSVRecord record : parser) {
+                        row++;
+                        String name = criterionColumn < record.size() ? record.get(criterionColumn) : "";
+                        if (record.size() > 0 && !name.isEmpty()) {
+                            entries.add(new Entry(name, start, Math.toIntExact(end - start), row));
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+
+        // A file written moments ago may change again without its modification time moving; record no time so
+        // the next open falls back to the hash.
+        long modified = trusted ? stamp.modifiedMillis() : 0;
+        try {
+            write(indexPath(csv), new Stamp(stamp.size(), modified), hash, headerLength, entries);
+        } catch (IOException ex) {
+            // A read-only directory only costs the saved index; this run uses the one just built.
+        }
+        return new Loaded(stamp, trusted, headerLength, List.copyOf(entries));
+    }
+
+    private static void write(Path index, Stamp stamp, byte[] hash, long headerLength, List<Entry> entries)
+            throws IOException {
+        Path temp = Files.createTempFile(index.getParent(), index.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(stamp.size());
+                out.writeLong(stamp.modifiedMillis());
+                out.write(hash);
+                out.writeLong(headerLength);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                    out.writeLong(entry.offset());
+                    out.writeInt(entry.length());
+                    out.writeInt(entry.row());
+                }
+            }
+            try {
+                Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String read(FileChannel channel, long offset, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(length));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Rubric bank changed while reading: " + channel);
+            }
+        }
+        buffer.flip();
+        return StandardCharsets.UTF_8.newDecoder().decode(buffer).toString();
+    }
+
+    private static Stamp stamp(Path csv) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(csv, BasicFileAttributes.class);
+        return new Stamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    private static byte[] contentHash(Path csv) throws IOException {
+        try (Arena arena = Arena.ofConfined();
+                FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            return digest(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena)
+                    .asByteBuffer());
+        }
+    }
+
+    private static byte[] digest(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static Pattern globPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                regex.append(Pattern.quote(literal.toString())).append(c == '*' ? ".*" : ".");
+                literal.setLength(0);
+            } else {
+                literal.append(c);
+            }
+        }
+        regex.append(Pattern.quote(literal.toString()));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
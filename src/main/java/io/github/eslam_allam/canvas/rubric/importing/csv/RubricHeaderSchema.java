@@ -0,0 +1,115 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// A validated rubric header with every column position resolved, so rows are decoded by plain array indexing.
+// Each parse compiles its header once and hands the schema to every row, chunk and index entry it decodes;
+// files and clipboard text go through the same compile step.
+public final class RubricHeaderSchema {
+
+    record RatingColumns(RatingHeaderDetector.RatingGroup group, int name, int points, int desc) {}
+
+    private final List<String> headers;
+    private final int criterion;
+    private final int criterionDesc;
+    private final RatingColumns[] ratings;
+
+    private RubricHeaderSchema(List<String> headers, int criterion, int criterionDesc, RatingColumns[] ratings) {
+        this.headers = headers;
+        this.criterion = criterion;
+        this.criterionDesc = criterionDesc;
+        this.ratings = ratings;
+    }
+
+    // Throws IllegalArgumentException describing the first problem with the header.
+    public static RubricHeaderSchema compile(List<String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            throw new IllegalArgumentException("CSV has no header row.");
+        }
+        return build(List.copyOf(headers));
+    }
+
+    public List<String> headers() {
+        return this.headers;
+    }
+
+    public List<RatingHeaderDetector.RatingGroup> ratingGroups() {
+        List<RatingHeaderDetector.RatingGroup> groups = new ArrayList<>(this.ratings.length);
+        for (RatingColumns columns : this.ratings) {
+            groups.add(columns.group());
+        }
+        return groups;
+    }
+
+    int criterion() {
+        return this.criterion;
+    }
+
+    int criterionDesc() {
+        return this.criterionDesc;
+    }
+
+    RatingColumns[] ratings() {
+        return this.ratings;
+    }
+
+    private static RubricHeaderSchema build(List<String> headerList) {
+        String[] headers = headerList.toArray(String[]::new);
+        int criterionIdx = indexOf(headers, "criterion");
+        int criterionDescIdx = indexOf(headers, "criterion_desc");
+        if (criterionIdx < 0) {
+            throw new IllegalArgumentException("CSV must contain 'criterion' column.");
+        }
+
+        var ratingGroups = RatingHeaderDetector.detect(headers);
+        if (ratingGroups.size() < 2) {
+            throw new IllegalArgumentException("CSV must have at least rating1/rating1_points/rating1_desc, etc.");
+        }
+
+        validateNoExtraColumns(headers, ratingGroups);
+
+        RatingColumns[] ratings = new RatingColumns[ratingGroups.size()];
+        for (int i = 0; i < ratings.length; i++) {
+            RatingHeaderDetector.RatingGroup g = ratingGroups.get(i);
+            ratings[i] = new RatingColumns(
+                    g,
+                    indexOf(headers, g.nameColumn()),
+                    indexOf(headers, g.pointsColumn()),
+                    indexOf(headers, g.descColumn()));
+        }
+        return new RubricHeaderSchema(headerList, criterionIdx, criterionDescIdx, ratings);
+    }
+
+    private static void validateNoExtraColumns(String[] headers, List<RatingHeaderDetector.RatingGroup> ratingGroups) {
+        Set<String> allowed = new HashSet<>();
+        allowed.add("criterion");
+        allowed.add("criterion_desc");
+
+        for (RatingHeaderDetector.RatingGroup g : ratingGroups) {
+            allowed.add(g.nameColumn());
+            allowed.add(g.pointsColumn());
+            allowed.add(g.descColumn());
+        }
+        List<String> extra = new ArrayList<>();
+        for (String h : headers) {
+            if (!allowed.contains(h)) {
+                extra.add(h);
+            }
+        }
+        if (!extra.isEmpty()) {
+            throw new IllegalArgumentException("Unexpected column(s) in header: " + String.join(", ", extra));
+        }
+    }
+
+    private static int indexOf(String[] arr, String value) {
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
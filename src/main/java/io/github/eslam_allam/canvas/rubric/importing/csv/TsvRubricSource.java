@@ -0,0 +1,39 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import io.github.eslam_allam.canvas.constant.FileType;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+import org.apache.commons.csv.CSVFormat;
+
+// Same columns and rules as the CSV template, separated by tabs as spreadsheets copy them.
+public final class TsvRubricSource implements RubricSource {
+
+    @Override
+    public String name() {
+        return "tsv";
+    }
+
+    @Override
+    public FileType fileType() {
+        return FileType.TSV;
+    }
+
+    @Override
+    public boolean sniff(String head) {
+        int lineEnd = head.indexOf('\n');
+        String header = lineEnd < 0 ? head : head.substring(0, lineEnd);
+        return header.startsWith("criterion\t");
+    }
+
+    @Override
+    public RubricParseReport parse(
+            Reader reader, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        return CsvRubricParser.parse(reader, CSVFormat.TDF, options, consumer);
+    }
+}
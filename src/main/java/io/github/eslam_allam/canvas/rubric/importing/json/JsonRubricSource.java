@@ -0,0 +1,145 @@
+package io.github.eslam_allam.canvas.rubric.importing.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.eslam_allam.canvas.constant.FileType;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.CriterionRules;
+import io.github.eslam_allam.canvas.rubric.importing.HtmlEntityDecoder;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricRowError;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSource;
+import io.github.eslam_allam.canvas.rubric.importing.RubricValidationException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reads criteria from JSON one element at a time. Accepted layouts are a bare array of criteria, an object
+// with a "criteria" array (the RubricModels.Rubric shape) or an object with a "rubric" array (a Canvas
+// assignment export). Criteria use either the importer's shape (name, description) or Canvas's
+// (description, long_description); ratings use Canvas's description, points and long_description.
+// "Row" in reported errors is the 1-based position of the criterion in its array.
+public final class JsonRubricSource implements RubricSource {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public FileType fileType() {
+        return FileType.JSON;
+    }
+
+    @Override
+    public boolean sniff(String head) {
+        String trimmed = head.stripLeading();
+        return trimmed.startsWith("[") || trimmed.startsWith("{");
+    }
+
+    @Override
+    public RubricParseReport parse(
+            Reader reader, RubricParseOptions options, Consumer<? super RubricModels.Criterion> consumer)
+            throws IOException {
+        try (JsonParser parser = MAPPER.createParser(reader)) {
+            if (!moveToCriteriaArray(parser)) {
+                throw new IllegalArgumentException("JSON must be an array of criteria or have a \"criteria\" or"
+                        + " \"rubric\" array.");
+            }
+
+            List<RubricRowError> errors = new ArrayList<>();
+            int count = 0;
+            double total = 0.0;
+            int row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                JsonNode node = parser.readValueAsTree();
+                int errorsBefore = errors.size();
+                RubricModels.Criterion criterion = decode(node, row, options, errors);
+                if (errors.size() > errorsBefore) {
+                    if (options.failFast()) {
+                        throw new RubricValidationException(errors.subList(errorsBefore, errors.size()));
+                    }
+                    continue;
+                }
+                consumer.accept(criterion);
+                count++;
+                total += criterion.points();
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Criterion " + (row + 1) + " is not a JSON object.");
+            }
+            return new RubricParseReport(count, total, errors);
+        }
+    }
+
+    // Leaves the parser on the START_ARRAY token of the criteria, skipping any other fields on the way.
+    private static boolean moveToCriteriaArray(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY && ("criteria".equals(field) || "rubric".equals(field))) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    // Returns null and records the criterion's errors when it is invalid.
+    private static RubricModels.Criterion decode(
+            JsonNode node, int row, RubricParseOptions options, List<RubricRowError> errors) {
+        boolean decodeHtml = options.decodeHtmlEntities();
+        boolean canvasShape = !node.hasNonNull("name");
+        String name = text(node, canvasShape ? "description" : "name", decodeHtml);
+        String description = text(node, canvasShape ? "long_description" : "description", decodeHtml);
+
+        List<CriterionRules.RatingInput> ratings = new ArrayList<>();
+        JsonNode ratingNodes = node.path("ratings");
+        for (int i = 0; i < ratingNodes.size(); i++) {
+            JsonNode rating = ratingNodes.get(i);
+            String column = "ratings[" + i + "]";
+            JsonNode points = rating.path("points");
+            ratings.add(new CriterionRules.RatingInput(
+                    text(rating, "description", decodeHtml),
+                    points.isNumber() ? points.asDouble() : null,
+                    text(rating, "long_description", decodeHtml),
+                    column + ".description",
+                    column + ".points",
+                    column + ".long_description"));
+        }
+
+        return CriterionRules.validate(
+                row,
+                name,
+                canvasShape ? "description" : "name",
+                description,
+                ratings,
+                "ratings",
+                options.stringPool(),
+                errors);
+    }
+
+    private static String text(JsonNode node, String field, boolean decodeHtml) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return "";
+        }
+        String text = value.asText().trim();
+        return decodeHtml ? HtmlEntityDecoder.decode(text) : text;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.eslam_allam.canvas.service;
+
+import io.github.eslam_allam.canvas.client.CanvasCredentialProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+// Keeps the stored credentials in memory so HTTP requests do not hit java.util.prefs every time.
+// The cache is dropped whenever new settings are saved through this store.
+@Singleton
+public final class CachedConnectionStore implements CanvasCredentialProvider, ConnectionStore {
+
+    private record Credentials(String baseUrl, String token, String authorizationHeader) {}
+
+    private final PreferencesService delegate;
+    private volatile Credentials credentials;
+
+    @Inject
+    public CachedConnectionStore(PreferencesService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String loadBaseUrl() {
+        return credentials().baseUrl();
+    }
+
+    @Override
+    public String loadToken() {
+        return credentials().token();
+    }
+
+    @Override
+    public String authorizationHeader() {
+        return credentials().authorizationHeader();
+    }
+
+    @Override
+    public void saveSettings(String baseUrl, String token) {
+        synchronized (this) {
+            this.delegate.saveSettings(baseUrl, token);
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        this.credentials = null;
+    }
+
+    private Credentials credentials() {
+        Credentials current = this.credentials;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (this.credentials == null) {
+                String token = this.delegate.loadToken();
+                this.credentials = new Credentials(this.delegate.loadBaseUrl(), token, "Bearer " + token);
+            }
+            return this.credentials;
+        }
+    }
+}
@@ -1,106 +1,96 @@
 package io.github.eslam_allam.canvas.service;
 
 import io.github.eslam_allam.canvas.client.CanvasClient;
+import io.github.eslam_allam.canvas.client.RubricDeduplicator;
 import io.github.eslam_allam.canvas.domain.Result;
 import io.github.eslam_allam.canvas.domain.ResultStatus;
 import io.github.eslam_allam.canvas.model.canvas.Assignment;
 import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import io.github.eslam_allam.canvas.rubric.importing.RubricSources;
 import io.github.eslam_allam.canvas.rubric.importing.csv.CsvRubricParser;
+import io.github.eslam_allam.canvas.task.TaskExecutor;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
 @Singleton
 public class CanvasRubricService {
+    private static final int PARSE_CACHE_ENTRIES = 16;
+
     private final CanvasClient canvasClient;
+    private final TaskExecutor taskExecutor;
+    private final RubricParseCache parseCache;
+    private final RubricDeduplicator deduplicator;
 
     @Inject
-    public CanvasRubricService(CanvasClient canvasClient) {
+    public CanvasRubricService(CanvasClient canvasClient, TaskExecutor taskExecutor) {
         this.canvasClient = canvasClient;
+        this.taskExecutor = taskExecutor;
+        this.parseCache = new RubricParseCache(PARSE_CACHE_ENTRIES);
+        this.deduplicator = new RubricDeduplicator(canvasClient);
     }
 
     public void getCanvasRubricCSV(String courseID, String assignmentID, Consumer<Result<String>> callback) {
 
-        new Thread(
-                        () -> {
-                            try {
-                                Assignment assignment =
-                                        this.canvasClient.getAssignmentWithRubric(courseID, assignmentID);
-                                List<RubricModels.Criteria> rubric = assignment.rubric();
-                                if (rubric == null || rubric.isEmpty()) {
-                                    callback.accept(new Result<>(ResultStatus.FAILURE, "No rubric found."));
-                                    return;
-                                }
-
-                                int maxRatings = 0;
-                                for (RubricModels.Criteria crit : rubric) {
-                                    List<RubricModels.Rating> ratings = crit.ratings();
-                                    if (ratings != null && !ratings.isEmpty()) {
-                                        maxRatings = Math.max(maxRatings, ratings.size());
-                                    }
-                                }
-                                if (maxRatings == 0) {
-                                    callback.accept(new Result<>(ResultStatus.FAILURE, "The rubric has no ratings."));
-                                    return;
-                                }
-
-                                List<String> header = templateHeader(maxRatings);
-                                List<List<String>> rows = new ArrayList<>();
-
-                                for (RubricModels.Criteria crit : rubric) {
-                                    String description = crit.description();
-                                    String longDesc = crit.longDescription();
-
-                                    List<RubricModels.Rating> ratings = crit.ratings();
-                                    List<String> row = new ArrayList<>();
-                                    row.add(description);
-                                    row.add(longDesc);
-
-                                    int count = ratings != null ? ratings.size() : 0;
-                                    for (int i = 0; i < maxRatings; i++) {
-                                        if (i < count) {
-                                            RubricModels.Rating r = ratings.get(i);
-                                            row.add(r.description());
-                                            row.add(r.points().toString());
-                                            row.add(r.longDescription());
-                                        } else {
-                                            row.add("");
-                                            row.add("");
-                                            row.add("");
-                                        }
-                                    }
-                                    rows.add(row);
-                                }
-
-                                StringWriter sw = new StringWriter();
-                                try (PrintWriter writer = new PrintWriter(sw)) {
-                                    writeCsvRow(writer, header);
-                                    for (List<String> row : rows) {
-                                        writeCsvRow(writer, row);
-                                    }
-                                }
-
-                                callback.accept(new Result<>(ResultStatus.SUCCESS, sw.toString()));
-
-                            } catch (Exception ex) {
-                                callback.accept(new Result<>(ResultStatus.FAILURE, ex.getMessage()));
-                            }
-                        },
-                        "download-and-convert-rubric")
-                .start();
+        this.taskExecutor.submit("download rubric", () -> {
+            try {
+                Assignment assignment = this.canvasClient.getAssignmentWithRubric(courseID, assignmentID);
+                List<RubricModels.Criteria> rubric = assignment.rubric();
+                if (rubric == null || rubric.isEmpty()) {
+                    callback.accept(new Result<>(ResultStatus.FAILURE, "No rubric found."));
+                    return;
+                }
+
+                if (RubricCsvWriter.maxRatings(rubric) == 0) {
+                    callback.accept(new Result<>(ResultStatus.FAILURE, "The rubric has no ratings."));
+                    return;
+                }
+
+                StringWriter sw = new StringWriter();
+                RubricCsvWriter.write(rubric, sw);
+
+                callback.accept(new Result<>(ResultStatus.SUCCESS, sw.toString()));
+
+            } catch (Exception ex) {
+                callback.accept(new Result<>(ResultStatus.FAILURE, ex.getMessage()));
+            }
+        });
+    }
+
+    public void exportCourseRubrics(String courseId, Path target, Consumer<Result<String>> callback) {
+        this.taskExecutor.submit("export course rubrics", () -> {
+            try {
+                CourseRubricExporter.Summary summary =
+                        new CourseRubricExporter(this.canvasClient).export(courseId, target);
+                callback.accept(new Result<>(
+                        ResultStatus.SUCCESS,
+                        "Exported " + summary.rubrics() + " rubric(s) from " + summary.assignments()
+                                + " assignment(s) to:\n" + summary.target().toAbsolutePath()));
+            } catch (Exception ex) {
+                callback.accept(new Result<>(ResultStatus.FAILURE, ex.getMessage()));
+            }
+        });
+    }
+
+    // Reuses the previous result for a file that has not changed since it was last parsed.
+    public ParsedRubric parseRubric(Path rubricPath, boolean decodeHtml) throws IOException {
+        return this.parseCache.get(rubricPath, decodeHtml, RubricSources::parse);
     }
 
-    public CsvRubricParser.ParsedRubric parseRubricCsv(Path csvPath, boolean decodeHtml) throws IOException {
-        return CsvRubricParser.parse(csvPath, decodeHtml);
+    // Parses CSV text directly, e.g. a rubric pasted from the clipboard.
+    public ParsedRubric parseRubricCsv(String csvText, boolean decodeHtml) throws IOException {
+        return CsvRubricParser.parse(new StringReader(csvText), decodeHtml);
     }
 
     public void updateAssignmentPoints(String courseId, String assignmentId, double totalPoints)
@@ -108,7 +98,7 @@ public class CanvasRubricService {
         this.canvasClient.updateAssignmentPoints(courseId, assignmentId, totalPoints);
     }
 
-    public RubricModels.Created createRubric(
+    public RubricDeduplicator.Outcome createRubric(
             String courseId,
             String assignmentId,
             String title,
@@ -116,26 +106,25 @@ public class CanvasRubricService {
             boolean useForGrading,
             boolean hideScoreTotal,
             String purpose,
-            List<RubricModels.Criterion> criteria)
+            List<RubricModels.Criterion> criteria,
+            boolean reuseExisting)
             throws IOException, URISyntaxException {
 
         var formFields = this.canvasClient.buildFormFieldsForRubricCreate(
                 title, freeForm, criteria, Integer.parseInt(assignmentId), useForGrading, hideScoreTotal, purpose);
 
-        return this.canvasClient.createRubric(courseId, formFields);
+        if (!reuseExisting) {
+            RubricModels.Created created = this.canvasClient.createRubric(courseId, formFields);
+            // The new rubric is not in the course's index yet.
+            this.deduplicator.invalidate(courseId);
+            return new RubricDeduplicator.Outcome(created, false);
+        }
+        // A course that already has these exact criteria only gets a new association to that rubric.
+        return this.deduplicator.create(courseId, criteria, formFields);
     }
 
     public List<String> templateHeader(int maxRatings) {
-        List<String> header = new ArrayList<>();
-        header.add("criterion");
-        header.add("criterion_desc");
-
-        for (int i = 1; i <= maxRatings; i++) {
-            header.add("rating" + i);
-            header.add("rating" + i + "_points");
-            header.add("rating" + i + "_desc");
-        }
-        return header;
+        return RubricCsvWriter.header(maxRatings);
     }
 
     public List<String> defaultTemplateHeader() {
@@ -143,36 +132,18 @@ public class CanvasRubricService {
     }
 
     public void writeTemplateToFile(Path file, List<String> header) throws IOException {
-        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
-            writeCsvRow(writer, header);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            RubricCsvWriter.writeRow(writer, header);
         }
     }
 
     public String headerAsCsvLine(List<String> header) {
         StringWriter sw = new StringWriter();
-        try (PrintWriter pw = new PrintWriter(sw)) {
-            writeCsvRow(pw, header);
+        try {
+            RubricCsvWriter.writeRow(sw, header);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
         return sw.toString();
     }
-
-    private void writeCsvRow(PrintWriter writer, List<String> cells) {
-        for (int i = 0; i < cells.size(); i++) {
-            if (i > 0) {
-                writer.print(",");
-            }
-            writer.print(escapeCsv(cells.get(i)));
-        }
-        writer.print("\n");
-    }
-
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
-        }
-        boolean hasSpecial =
-                value.contains(",") || value.contains("\n") || value.contains("\r") || value.contains("\"");
-        String escaped = value.replace("\"", "\"\"");
-        return hasSpecial ? "\"" + escaped + "\"" : escaped;
-    }
 }
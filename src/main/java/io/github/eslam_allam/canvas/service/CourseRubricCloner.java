@@ -0,0 +1,235 @@
+package io.github.eslam_allam.canvas.service;
+
+import io.github.eslam_allam.canvas.client.CanvasClient;
+import io.github.eslam_allam.canvas.client.RubricDeduplicator;
+import io.github.eslam_allam.canvas.model.canvas.Assignment;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricFingerprint;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+// Copies the rubrics of one course's assignments onto the matching assignments of another, straight from
+// Canvas to Canvas. Both courses are read in one streamed pass each; a plan pairs source and target assignments
+// by name or by position and can be shown as a diff before anything is written. Applying it creates the rubrics
+// in the target course with at most `concurrency` requests in flight.
+public final class CourseRubricCloner {
+
+    public enum MatchBy {
+        NAME,
+        POSITION
+    }
+
+    public enum Action {
+        // target has no rubric
+        CREATE,
+        // target has a different rubric, which the new association replaces
+        REPLACE,
+        // target already has a rubric with the same criteria and free-form comment setting
+        SAME,
+        // no target assignment matched
+        UNMATCHED
+    }
+
+    // Rubric associations on assignments are always for grading; Canvas does not report another purpose there.
+    private static final String PURPOSE = "grading";
+
+    // One assignment of a course as the cloner sees it; criteria are empty when it has no rubric.
+    public record CourseAssignment(
+            long id,
+            String name,
+            int position,
+            String rubricTitle,
+            boolean useForGrading,
+            boolean freeFormComments,
+            boolean hideScoreTotal,
+            List<RubricModels.Criterion> criteria) {
+
+        public boolean hasRubric() {
+            return !this.criteria.isEmpty();
+        }
+    }
+
+    public record Step(CourseAssignment source, CourseAssignment target, Action action) {}
+
+    public record Outcome(Step step, RubricModels.Association association, String error) {}
+
+    private final CanvasClient client;
+    private final RubricDeduplicator deduplicator;
+    private final int concurrency;
+
+    // deduplicator is optional; without it every cloned rubric is a new rubric in the target course.
+    public CourseRubricCloner(CanvasClient client, RubricDeduplicator deduplicator, int concurrency) {
+        this.client = client;
+        this.deduplicator = deduplicator;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    // Every source assignment that has a rubric, in course order, with what applying the plan would do.
+    public List<Step> plan(String sourceCourseId, String targetCourseId, MatchBy matchBy)
+            throws IOException, URISyntaxException {
+        List<CourseAssignment> sources = readCourse(sourceCourseId);
+        List<CourseAssignment> targets = readCourse(targetCourseId);
+
+        Map<String, CourseAssignment> targetsByName = new HashMap<>();
+        for (CourseAssignment target : targets) {
+            targetsByName.putIfAbsent(nameKey(target.name()), target);
+        }
+
+        List<Step> steps = new ArrayList<>();
+        for (CourseAssignment source : sources) {
+            if (!source.hasRubric()) {
+                continue;
+            }
+            CourseAssignment target = matchBy == MatchBy.NAME
+                    ? targetsByName.get(nameKey(source.name()))
+                    : source.position() < targets.size() ? targets.get(source.position()) : null;
+            steps.add(new Step(source, target, actionFor(source, target)));
+        }
+        return steps;
+    }
+
+    // Applies CREATE and REPLACE steps; the outcomes keep the plan's order.
+    public List<Outcome> apply(String targetCourseId, List<Step> steps) throws IOException {
+        Semaphore permits = new Semaphore(this.concurrency);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Step step : steps) {
+                if (step.action() != Action.CREATE && step.action() != Action.REPLACE) {
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return new Outcome(step, cloneRubric(targetCourseId, step), null);
+                    } catch (IOException | URISyntaxException | RuntimeException ex) {
+                        return new Outcome(step, null, ex.getMessage() == null ? ex.toString() : ex.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<Outcome> outcomes = new ArrayList<>(futures.size());
+            for (Future<Outcome> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while cloning rubrics");
+                } catch (ExecutionException ex) {
+                    throw new IOException(ex.getCause());
+                }
+            }
+            return outcomes;
+        }
+    }
+
+    // One line per step: "+" create, "~" replace, "=" unchanged, "?" no match.
+    public static String describe(Step step) {
+        CourseAssignment source = step.source();
+        String rubric = "'" + source.rubricTitle() + "' (" + source.criteria().size() + " criteria, "
+                + source.criteria().stream()
+                        .mapToDouble(RubricModels.Criterion::points)
+                        .sum() + " points; " + settings(source) + ")";
+        return switch (step.action()) {
+            case CREATE -> "+ " + rubric + " -> " + step.target().name();
+            case REPLACE -> "~ " + rubric + " -> " + step.target().name() + " (replaces '"
+                    + step.target().rubricTitle() + "')";
+            case SAME -> "= " + rubric + " already on " + step.target().name();
+            case UNMATCHED -> "? " + rubric + " from " + source.name() + ": no matching assignment";
+        };
+    }
+
+    private static String settings(CourseAssignment assignment) {
+        return (assignment.useForGrading() ? "used for grading" : "not used for grading")
+                + (assignment.freeFormComments() ? ", free-form comments" : "")
+                + (assignment.hideScoreTotal() ? ", score total hidden" : "");
+    }
+
+    private RubricModels.Association cloneRubric(String targetCourseId, Step step)
+            throws IOException, URISyntaxException {
+        CourseAssignment source = step.source();
+        Map<String, String> formFields = this.client.buildFormFieldsForRubricCreate(
+                source.rubricTitle(),
+                source.freeFormComments(),
+                source.criteria(),
+                Math.toIntExact(step.target().id()),
+                source.useForGrading(),
+                source.hideScoreTotal(),
+                PURPOSE);
+        RubricModels.Created created = this.deduplicator == null
+                ? this.client.createRubric(targetCourseId, formFields)
+                : this.deduplicator.create(targetCourseId, source.criteria(), formFields).created();
+        return created.rubricAssociation();
+    }
+
+    private List<CourseAssignment> readCourse(String courseId) throws IOException, URISyntaxException {
+        List<CourseAssignment> assignments = new ArrayList<>();
+        this.client.forEachAssignmentWithRubric(
+                courseId, assignment -> assignments.add(toCourseAssignment(assignment, assignments.size())));
+        return assignments;
+    }
+
+    private static CourseAssignment toCourseAssignment(Assignment assignment, int position) {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        if (assignment.rubric() != null) {
+            for (RubricModels.Criteria crit : assignment.rubric()) {
+                List<RubricModels.Rating> ratings = new ArrayList<>();
+                double points = 0.0;
+                if (crit.ratings() != null) {
+                    for (RubricModels.Rating rating : crit.ratings()) {
+                        double ratingPoints = rating.points() == null ? 0.0 : rating.points();
+                        ratings.add(new RubricModels.Rating(
+                                "", rating.description(), ratingPoints, rating.longDescription()));
+                        points = Math.max(points, ratingPoints);
+                    }
+                }
+                // The criterion's own points win; the best rating only stands in when Canvas leaves them out.
+                criteria.add(new RubricModels.Criterion(
+                        crit.description(),
+                        crit.longDescription(),
+                        crit.points() == null ? points : crit.points(),
+                        ratings));
+            }
+        }
+        RubricModels.Settings settings = assignment.rubricSettings();
+        String title = settings != null && settings.title() != null ? settings.title() : assignment.name();
+        return new CourseAssignment(
+                assignment.id(),
+                assignment.name(),
+                position,
+                title,
+                !Boolean.FALSE.equals(assignment.useRubricForGrading()),
+                settings != null && Boolean.TRUE.equals(settings.freeFormCriterionComments()),
+                settings != null && Boolean.TRUE.equals(settings.hideScoreTotal()),
+                List.copyOf(criteria));
+    }
+
+    private static Action actionFor(CourseAssignment source, CourseAssignment target) {
+        if (target == null) {
+            return Action.UNMATCHED;
+        }
+        if (!target.hasRubric()) {
+            return Action.CREATE;
+        }
+        return source.freeFormComments() == target.freeFormComments()
+                        && RubricFingerprint.of(source.criteria()).equals(RubricFingerprint.of(target.criteria()))
+                ? Action.SAME
+                : Action.REPLACE;
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
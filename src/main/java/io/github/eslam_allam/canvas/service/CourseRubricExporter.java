@@ -0,0 +1,146 @@
+package io.github.eslam_allam.canvas.service;
+
+import io.github.eslam_allam.canvas.client.CanvasClient;
+import io.github.eslam_allam.canvas.model.canvas.Assignment;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Exports every rubric in a course in one pass over the course's assignments. Assignment pages are fetched
+// concurrently by the client and each rubric is written as soon as its page arrives, one CSV per assignment,
+// either into a directory or into a single zip archive. An archive is only moved into place once complete.
+public final class CourseRubricExporter {
+
+    public record Summary(String courseId, int assignments, int rubrics, Path target) {}
+
+    private interface Sink extends AutoCloseable {
+        void write(String fileName, List<RubricModels.Criteria> rubric) throws IOException;
+
+        void commit() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final CanvasClient client;
+
+    public CourseRubricExporter(CanvasClient client) {
+        this.client = client;
+    }
+
+    // A target ending in .zip becomes one archive; anything else is a directory, created if needed.
+    public Summary export(String courseId, Path target) throws IOException, URISyntaxException {
+        boolean zip = target.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".zip");
+        int[] counts = new int[2];
+        Set<String> usedNames = new HashSet<>();
+        try (Sink sink = zip ? new ZipSink(target) : new DirectorySink(target)) {
+            try {
+                this.client.forEachAssignmentWithRubric(courseId, assignment -> {
+                    counts[0]++;
+                    List<RubricModels.Criteria> rubric = assignment.rubric();
+                    if (rubric == null || rubric.isEmpty() || RubricCsvWriter.maxRatings(rubric) == 0) {
+                        return;
+                    }
+                    try {
+                        sink.write(fileName(assignment, usedNames), rubric);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    counts[1]++;
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            sink.commit();
+        }
+        return new Summary(courseId, counts[0], counts[1], target);
+    }
+
+    private static String fileName(Assignment assignment, Set<String> usedNames) {
+        String name = assignment.name() == null ? "" : assignment.name();
+        String slug = name.replaceAll("[^A-Za-z0-9._-]+", "_").replaceAll("^_+|_+$", "");
+        if (slug.length() > 80) {
+            slug = slug.substring(0, 80);
+        }
+        String base = "assignment-" + assignment.id() + (slug.isEmpty() ? "" : "-" + slug);
+        String candidate = base + ".csv";
+        for (int i = 2; !usedNames.add(candidate.toLowerCase(Locale.ROOT)); i++) {
+            candidate = base + "-" + i + ".csv";
+        }
+        return candidate;
+    }
+
+    private static final class DirectorySink implements Sink {
+        private final Path directory;
+
+        private DirectorySink(Path directory) throws IOException {
+            this.directory = Files.createDirectories(directory);
+        }
+
+        @Override
+        public void write(String fileName, List<RubricModels.Criteria> rubric) throws IOException {
+            try (Writer writer = Files.newBufferedWriter(this.directory.resolve(fileName), StandardCharsets.UTF_8)) {
+                RubricCsvWriter.write(rubric, writer);
+            }
+        }
+
+        @Override
+        public void commit() {}
+
+        @Override
+        public void close() {}
+    }
+
+    private static final class ZipSink implements Sink {
+        private final Path target;
+        private final Path temp;
+        private final ZipOutputStream zip;
+        private final Writer writer;
+
+        private ZipSink(Path target) throws IOException {
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            this.target = target;
+            this.temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+            this.zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(this.temp)));
+            this.writer = new OutputStreamWriter(this.zip, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void write(String fileName, List<RubricModels.Criteria> rubric) throws IOException {
+            this.zip.putNextEntry(new ZipEntry(fileName));
+            RubricCsvWriter.write(rubric, this.writer);
+            this.writer.flush();
+            this.zip.closeEntry();
+        }
+
+        @Override
+        public void commit() throws IOException {
+            this.writer.close();
+            Files.move(this.temp, this.target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.writer.close();
+            } finally {
+                Files.deleteIfExists(this.temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.eslam_allam.canvas.service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Calls back when one file changes. The parent directory is watched because editors often save by writing a
+// temporary file and renaming it over the original. Bursts of events are collapsed: the callback runs once the
+// file has been quiet for the debounce period. Callbacks run on the watcher's own virtual thread.
+public final class FileChangeWatcher implements AutoCloseable {
+    private final Path file;
+    private final Duration debounce;
+    private final Runnable onChange;
+    private final WatchService watchService;
+
+    private FileChangeWatcher(Path file, Duration debounce, Runnable onChange) throws IOException {
+        this.file = file;
+        this.debounce = debounce;
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    public static FileChangeWatcher watch(Path file, Duration debounce, Runnable onChange) throws IOException {
+        Path target = file.toAbsolutePath().normalize();
+        Path directory = target.getParent();
+        if (directory == null) {
+            throw new IOException("Cannot watch " + file + ": it has no parent directory.");
+        }
+        FileChangeWatcher watcher = new FileChangeWatcher(target, debounce, onChange);
+        try {
+            directory.register(
+                    watcher.watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ex) {
+            watcher.close();
+            throw ex;
+        }
+        Thread.ofVirtual().name("watch-" + target.getFileName()).start(watcher::run);
+        return watcher;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!concernsFile(this.watchService.take())) {
+                    continue;
+                }
+                // Keep draining until the file has been quiet for the whole debounce period.
+                WatchKey key;
+                while ((key = this.watchService.poll(this.debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    concernsFile(key);
+                }
+                this.onChange.run();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // Closed or interrupted; stop watching.
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || this.file.getFileName().equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.watchService.close();
+        } catch (IOException ex) {
+            // Nothing left to release.
+        }
+    }
+}
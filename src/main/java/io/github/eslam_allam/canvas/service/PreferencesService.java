@@ -1,8 +1,12 @@
 package io.github.eslam_allam.canvas.service;
 
 import io.github.eslam_allam.canvas.client.CanvasCredentialProvider;
+import io.github.eslam_allam.canvas.client.HttpClientSettings;
+import io.github.eslam_allam.canvas.client.ResponseCacheSettings;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.prefs.Preferences;
 
 @Singleton
@@ -27,4 +31,49 @@ public class PreferencesService implements CanvasCredentialProvider, ConnectionS
         prefs.put("baseUrl", baseUrl == null ? "" : baseUrl.trim());
         prefs.put("token", token == null ? "" : token.trim());
     }
+
+    public HttpClientSettings loadHttpClientSettings() {
+        return new HttpClientSettings(
+                prefs.getInt("http.maxConnectionsPerRoute", HttpClientSettings.DEFAULT_MAX_CONNECTIONS_PER_ROUTE),
+                prefs.getInt("http.maxConnectionsTotal", HttpClientSettings.DEFAULT_MAX_CONNECTIONS_TOTAL),
+                getDuration("http.connectTimeoutMs", HttpClientSettings.DEFAULT_CONNECT_TIMEOUT),
+                getDuration("http.responseTimeoutMs", HttpClientSettings.DEFAULT_RESPONSE_TIMEOUT),
+                getDuration("http.socketTimeoutMs", HttpClientSettings.DEFAULT_SOCKET_TIMEOUT),
+                getDuration("http.connectionTimeToLiveMs", HttpClientSettings.DEFAULT_CONNECTION_TIME_TO_LIVE),
+                getDuration("http.idleConnectionEvictionMs", HttpClientSettings.DEFAULT_IDLE_CONNECTION_EVICTION),
+                getDuration("http.validateAfterInactivityMs", HttpClientSettings.DEFAULT_VALIDATE_AFTER_INACTIVITY),
+                getDuration("http.keepAliveMs", HttpClientSettings.DEFAULT_KEEP_ALIVE),
+                prefs.getInt("http.pageConcurrency", HttpClientSettings.DEFAULT_PAGE_CONCURRENCY));
+    }
+
+    public void saveHttpClientSettings(HttpClientSettings settings) {
+        prefs.putInt("http.maxConnectionsPerRoute", settings.maxConnectionsPerRoute());
+        prefs.putInt("http.maxConnectionsTotal", settings.maxConnectionsTotal());
+        prefs.putLong("http.connectTimeoutMs", settings.connectTimeout().toMillis());
+        prefs.putLong("http.responseTimeoutMs", settings.responseTimeout().toMillis());
+        prefs.putLong("http.socketTimeoutMs", settings.socketTimeout().toMillis());
+        prefs.putLong("http.connectionTimeToLiveMs", settings.connectionTimeToLive().toMillis());
+        prefs.putLong("http.idleConnectionEvictionMs", settings.idleConnectionEviction().toMillis());
+        prefs.putLong("http.validateAfterInactivityMs", settings.validateAfterInactivity().toMillis());
+        prefs.putLong("http.keepAliveMs", settings.keepAlive().toMillis());
+        prefs.putInt("http.pageConcurrency", settings.pageConcurrency());
+    }
+
+    public ResponseCacheSettings loadResponseCacheSettings() {
+        String directory = prefs.get("cache.directory", "").trim();
+        return new ResponseCacheSettings(
+                directory.isEmpty() ? ResponseCacheSettings.defaultDirectory() : Path.of(directory),
+                prefs.getInt("cache.maxEntries", ResponseCacheSettings.DEFAULT_MAX_ENTRIES),
+                prefs.getLong("cache.maxBytes", ResponseCacheSettings.DEFAULT_MAX_BYTES));
+    }
+
+    public void saveResponseCacheSettings(ResponseCacheSettings settings) {
+        prefs.put("cache.directory", settings.directory().toString());
+        prefs.putInt("cache.maxEntries", settings.maxEntries());
+        prefs.putLong("cache.maxBytes", settings.maxBytes());
+    }
+
+    private Duration getDuration(String key, Duration defaultValue) {
+        return Duration.ofMillis(prefs.getLong(key, defaultValue.toMillis()));
+    }
 }
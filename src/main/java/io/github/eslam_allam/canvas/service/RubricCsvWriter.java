@@ -0,0 +1,85 @@
+package io.github.eslam_allam.canvas.service;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes Canvas rubrics in the importer's CSV layout, row by row, so the output can be re-imported as is.
+public final class RubricCsvWriter {
+
+    private RubricCsvWriter() {}
+
+    public static List<String> header(int maxRatings) {
+        List<String> header = new ArrayList<>();
+        header.add("criterion");
+        header.add("criterion_desc");
+
+        for (int i = 1; i <= maxRatings; i++) {
+            header.add("rating" + i);
+            header.add("rating" + i + "_points");
+            header.add("rating" + i + "_desc");
+        }
+        return header;
+    }
+
+    public static int maxRatings(List<RubricModels.Criteria> rubric) {
+        int maxRatings = 0;
+        for (RubricModels.Criteria crit : rubric) {
+            List<RubricModels.Rating> ratings = crit.ratings();
+            if (ratings != null && !ratings.isEmpty()) {
+                maxRatings = Math.max(maxRatings, ratings.size());
+            }
+        }
+        return maxRatings;
+    }
+
+    public static void write(List<RubricModels.Criteria> rubric, Writer writer) throws IOException {
+        int maxRatings = maxRatings(rubric);
+        writeRow(writer, header(maxRatings));
+
+        List<String> row = new ArrayList<>(2 + maxRatings * 3);
+        for (RubricModels.Criteria crit : rubric) {
+            row.clear();
+            row.add(crit.description());
+            row.add(crit.longDescription());
+
+            List<RubricModels.Rating> ratings = crit.ratings();
+            int count = ratings != null ? ratings.size() : 0;
+            for (int i = 0; i < maxRatings; i++) {
+                if (i < count) {
+                    RubricModels.Rating r = ratings.get(i);
+                    row.add(r.description());
+                    row.add(r.points() == null ? "" : r.points().toString());
+                    row.add(r.longDescription());
+                } else {
+                    row.add("");
+                    row.add("");
+                    row.add("");
+                }
+            }
+            writeRow(writer, row);
+        }
+    }
+
+    public static void writeRow(Writer writer, List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(",");
+            }
+            writer.write(escape(cells.get(i)));
+        }
+        writer.write("\n");
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean hasSpecial =
+                value.contains(",") || value.contains("\n") || value.contains("\r") || value.contains("\"");
+        String escaped = value.replace("\"", "\"\"");
+        return hasSpecial ? "\"" + escaped + "\"" : escaped;
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.eslam_allam.canvas.service;
+
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Remembers the last few successfully parsed rubric files so preview and create do not re-parse a file that
+// has not changed. Size and modification time identify an unchanged file; when they differ, or when the
+// modification time is too recent to trust, the content hash decides.
+final class RubricParseCache {
+
+    // Writes landing within this window of the recorded modification time may not have changed it.
+    private static final long RACY_WINDOW_MILLIS = 2_000;
+
+    private record Key(Path path, boolean decodeHtml) {}
+
+    private record Entry(long size, FileTime modified, String contentHash, ParsedRubric parsed) {}
+
+    @FunctionalInterface
+    interface Parser {
+        ParsedRubric parse(Path path, boolean decodeHtml) throws IOException;
+    }
+
+    private final Map<Key, Entry> entries;
+
+    RubricParseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    ParsedRubric get(Path csvPath, boolean decodeHtml, Parser parser) throws IOException {
+        Key key = new Key(csvPath.toAbsolutePath().normalize(), decodeHtml);
+        BasicFileAttributes attributes = Files.readAttributes(key.path(), BasicFileAttributes.class);
+        long size = attributes.size();
+        FileTime modified = attributes.lastModifiedTime();
+
+        Entry cached = lookup(key);
+        if (cached != null
+                && cached.size() == size
+                && cached.modified().equals(modified)
+                && System.currentTimeMillis() - modified.toMillis() > RACY_WINDOW_MILLIS) {
+            return cached.parsed();
+        }
+
+        String hash = contentHash(key.path());
+        if (cached != null && cached.contentHash().equals(hash)) {
+            store(key, new Entry(size, modified, hash, cached.parsed()));
+            return cached.parsed();
+        }
+
+        ParsedRubric parsed = parser.parse(key.path(), decodeHtml);
+        ParsedRubric shared =
+                new ParsedRubric(List.copyOf(parsed.criteria()), parsed.totalPoints());
+        // The parser reads the file again; if it was edited since the hash, the result belongs to other content
+        // and is returned without being cached.
+        if (unchanged(key.path(), size, modified, hash)) {
+            store(key, new Entry(size, modified, hash, shared));
+        }
+        return shared;
+    }
+
+    private static boolean unchanged(Path path, long size, FileTime modified, String hash) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.size() != size || !attributes.lastModifiedTime().equals(modified)) {
+            return false;
+        }
+        return System.currentTimeMillis() - modified.toMillis() > RACY_WINDOW_MILLIS
+                || contentHash(path).equals(hash);
+    }
+
+    private synchronized Entry lookup(Key key) {
+        return this.entries.get(key);
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        this.entries.put(key, entry);
+    }
+
+    private static String contentHash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.eslam_allam.canvas.task;
+
+import java.util.function.Consumer;
+
+// Latest-wins submission for actions where only the newest request matters, such as reloading a list.
+// Submitting cancels the previous task; its results should be dropped by checking the handle it was given.
+public final class LatestTaskRunner {
+    private final TaskExecutor taskExecutor;
+    private TaskHandle latest;
+
+    public LatestTaskRunner(TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    public synchronized TaskHandle submit(String name, Consumer<TaskHandle> task) {
+        cancel();
+        this.latest = this.taskExecutor.submit(name, task);
+        return this.latest;
+    }
+
+    public synchronized void cancel() {
+        if (this.latest != null) {
+            this.latest.cancel();
+            this.latest = null;
+        }
+    }
+}
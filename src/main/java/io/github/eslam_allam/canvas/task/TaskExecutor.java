@@ -0,0 +1,14 @@
+package io.github.eslam_allam.canvas.task;
+
+import java.util.function.Consumer;
+
+public interface TaskExecutor {
+
+    // Runs the task in the background. When too many tasks are already waiting the task is not run and the
+    // returned handle is already cancelled.
+    TaskHandle submit(String name, Consumer<TaskHandle> task);
+
+    default TaskHandle submit(String name, Runnable task) {
+        return submit(name, handle -> task.run());
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.eslam_allam.canvas.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+// Lets the submitter of a background task cancel it and lets the task check whether it should stop.
+// Cancelling interrupts the worker thread, which aborts waits for a free slot, and runs the registered
+// cancel actions, which abort in-flight HTTP exchanges.
+public final class TaskHandle {
+
+    // Registered cancel action; closing it removes the action once the guarded work has finished.
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        Registration NONE = () -> {};
+
+        @Override
+        void close();
+    }
+
+    static final ScopedValue<TaskHandle> CURRENT = ScopedValue.newInstance();
+
+    private final String name;
+    private final List<Runnable> cancelActions;
+    private volatile boolean cancelled;
+    private Thread worker;
+
+    TaskHandle(String name) {
+        this.name = name;
+        this.cancelActions = new ArrayList<>();
+    }
+
+    static TaskHandle rejected(String name) {
+        TaskHandle handle = new TaskHandle(name);
+        handle.cancelled = true;
+        return handle;
+    }
+
+    // The task running on this thread, if any. Helper threads owned by a task see it through callAs.
+    public static Optional<TaskHandle> current() {
+        return CURRENT.isBound() ? Optional.of(CURRENT.get()) : Optional.empty();
+    }
+
+    public static <T> T callAs(Optional<TaskHandle> owner, Callable<T> action) throws Exception {
+        if (owner.isEmpty()) {
+            return action.call();
+        }
+        List<T> result = new ArrayList<>(1);
+        List<Exception> failure = new ArrayList<>(1);
+        ScopedValue.where(CURRENT, owner.get()).run(() -> {
+            try {
+                result.add(action.call());
+            } catch (Exception ex) {
+                failure.add(ex);
+            }
+        });
+        if (!failure.isEmpty()) {
+            throw failure.getFirst();
+        }
+        return result.getFirst();
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    public void cancel() {
+        Thread running;
+        List<Runnable> actions;
+        synchronized (this) {
+            if (this.cancelled) {
+                return;
+            }
+            this.cancelled = true;
+            running = this.worker;
+            actions = List.copyOf(this.cancelActions);
+            this.cancelActions.clear();
+        }
+        actions.forEach(Runnable::run);
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    // Runs the action when the task is cancelled, immediately if it already is.
+    public Registration onCancel(Runnable action) {
+        synchronized (this) {
+            if (!this.cancelled) {
+                this.cancelActions.add(action);
+                return () -> {
+                    synchronized (this) {
+                        this.cancelActions.remove(action);
+                    }
+                };
+            }
+        }
+        action.run();
+        return Registration.NONE;
+    }
+
+    synchronized boolean attach(Thread thread) {
+        if (this.cancelled) {
+            return false;
+        }
+        this.worker = thread;
+        return true;
+    }
+
+    synchronized void detach() {
+        this.worker = null;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.eslam_allam.canvas.task;
+
+import dagger.Binds;
+import dagger.Module;
+import jakarta.inject.Singleton;
+
+@Module
+public interface TaskModule {
+
+    @Binds
+    @Singleton
+    TaskExecutor bindTaskExecutor(VirtualThreadTaskExecutor impl);
+}
@@ -0,0 +1,82 @@
+package io.github.eslam_allam.canvas.task;
+
+import io.github.eslam_allam.canvas.notification.StatusNotifier;
+import io.github.eslam_allam.canvas.notification.TaskEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Runs every background task of the application on its own named virtual thread. At most MAX_RUNNING tasks
+// execute at once and at most MAX_PENDING are accepted in total, so repeated clicks or bulk runs cannot pile
+// up an unbounded number of threads and sockets. Every task's lifecycle is reported to the StatusNotifier: a task
+// that starts ends with exactly one of COMPLETED, CANCELLED or FAILED.
+@Singleton
+public final class VirtualThreadTaskExecutor implements TaskExecutor {
+    static final int MAX_RUNNING = 8;
+    static final int MAX_PENDING = 32;
+
+    private final StatusNotifier statusNotifier;
+    private final Semaphore running;
+    private final AtomicInteger pending;
+    private final AtomicLong nextTaskId;
+
+    @Inject
+    public VirtualThreadTaskExecutor(StatusNotifier statusNotifier) {
+        this.statusNotifier = statusNotifier;
+        this.running = new Semaphore(MAX_RUNNING, true);
+        this.pending = new AtomicInteger();
+        this.nextTaskId = new AtomicLong();
+    }
+
+    @Override
+    public TaskHandle submit(String name, Consumer<TaskHandle> task) {
+        long id = this.nextTaskId.incrementAndGet();
+        if (this.pending.incrementAndGet() > MAX_PENDING) {
+            this.pending.decrementAndGet();
+            this.statusNotifier.taskEvent(id, name, TaskEvent.REJECTED, null);
+            return TaskHandle.rejected(name);
+        }
+
+        TaskHandle handle = new TaskHandle(name);
+        Thread.ofVirtual()
+                .name("task-" + name.replace(' ', '-').toLowerCase(Locale.ROOT))
+                .start(() -> run(id, handle, task));
+        return handle;
+    }
+
+    private void run(long id, TaskHandle handle, Consumer<TaskHandle> task) {
+        TaskEvent outcome = TaskEvent.CANCELLED;
+        String detail = null;
+        try {
+            if (!handle.attach(Thread.currentThread())) {
+                return;
+            }
+            if (!this.running.tryAcquire()) {
+                this.statusNotifier.taskEvent(id, handle.name(), TaskEvent.WAITING, null);
+                this.running.acquire();
+            }
+            try {
+                if (!handle.isCancelled()) {
+                    this.statusNotifier.taskEvent(id, handle.name(), TaskEvent.STARTED, null);
+                    ScopedValue.where(TaskHandle.CURRENT, handle).run(() -> task.accept(handle));
+                    outcome = handle.isCancelled() ? TaskEvent.CANCELLED : TaskEvent.COMPLETED;
+                }
+            } finally {
+                this.running.release();
+            }
+        } catch (InterruptedException ex) {
+            // Cancelled while waiting for a free slot.
+        } catch (RuntimeException ex) {
+            outcome = TaskEvent.FAILED;
+            detail = ex.getMessage();
+        } finally {
+            handle.detach();
+            this.pending.decrementAndGet();
+            this.statusNotifier.taskEvent(id, handle.name(), outcome, detail);
+        }
+    }
+}
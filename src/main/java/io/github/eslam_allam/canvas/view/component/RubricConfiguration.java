@@ -36,12 +36,14 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
     private final Button copyTemplateBtn;
     private final Button downloadRubricBtn;
     private final Button copyRubricBtn;
+    private final Button exportCourseRubricsBtn;
 
     private final CheckBox freeFormCommentsCheck;
     private final CheckBox useForGradingCheck;
     private final CheckBox hideScoreTotalCheck;
     private final CheckBox syncPointsCheck;
     private final CheckBox decodeHtmlCheck;
+    private final CheckBox reuseExistingCheck;
     private final Button showPreviewBtn;
     private final Button backBtn;
     private final Button createBtn;
@@ -74,6 +76,7 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
         this.syncPointsCheck = new CheckBox("Sync assignment points to rubric total");
         this.decodeHtmlCheck = new CheckBox("Decode HTML entities in CSV text");
         this.decodeHtmlCheck.setSelected(true);
+        this.reuseExistingCheck = new CheckBox("Reuse an identical rubric already in the course");
 
         this.browseBtn = new Button("Browse...");
 
@@ -95,6 +98,8 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
 
         this.copyRubricBtn = new Button("Copy Rubric as CSV");
 
+        this.exportCourseRubricsBtn = new Button("Export Course Rubrics");
+
         this.createBtn = new Button("Create Rubric");
 
         this.quitBtn = new Button("Quit");
@@ -104,7 +109,7 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
     }
 
     private void initRubricPane() {
-        HBox canvasRubricButtons = new HBox(5, downloadRubricBtn, copyRubricBtn);
+        HBox canvasRubricButtons = new HBox(5, downloadRubricBtn, copyRubricBtn, exportCourseRubricsBtn);
 
         int row = 0;
 
@@ -139,7 +144,7 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
         VBox rubricOptions = new VBox(
                 5,
                 new HBox(10, freeFormCommentsCheck, useForGradingCheck, hideScoreTotalCheck),
-                new HBox(10, syncPointsCheck, decodeHtmlCheck));
+                new HBox(10, syncPointsCheck, decodeHtmlCheck, reuseExistingCheck));
         this.root.add(rubricOptions, 0, row, 6, 3);
         GridPane.setMargin(rubricOptions, new Insets(5));
         row += 3;
@@ -167,6 +172,7 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
         this.hideScoreTotalCheck.selectedProperty().bindBidirectional(vm.hideTotalScore());
         this.syncPointsCheck.selectedProperty().bindBidirectional(vm.syncPoints());
         this.decodeHtmlCheck.selectedProperty().bindBidirectional(vm.decodeHtml());
+        this.reuseExistingCheck.selectedProperty().bindBidirectional(vm.reuseExisting());
 
         this.showPreviewBtn.visibleProperty().bindBidirectional(vm.previewButtonVisible());
         this.showPreviewBtn.managedProperty().bindBidirectional(vm.previewButtonVisible());
@@ -199,6 +205,10 @@ public final class RubricConfiguration implements Widget<RubricConfigurationVM>
         this.copyRubricBtn.setOnAction(callback);
     }
 
+    public void onExportCourseRubricsClick(EventHandler<ActionEvent> callback) {
+        this.exportCourseRubricsBtn.setOnAction(callback);
+    }
+
     public void onShowPreviewClick(EventHandler<ActionEvent> callback) {
         this.showPreviewBtn.setOnAction(callback);
     }
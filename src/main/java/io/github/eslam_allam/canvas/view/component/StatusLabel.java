@@ -6,22 +6,29 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
 
 @Singleton
 public final class StatusLabel implements Widget<StatusLabelVM> {
     private final Label status;
+    private final Label runningTasks;
+    private final HBox root;
 
     @Inject
     public StatusLabel() {
         this.status = new Label();
         this.status.getStyleClass().add("status-label");
+        this.runningTasks = new Label();
+        this.runningTasks.getStyleClass().add("status-tasks");
+        this.root = new HBox(10, this.status, this.runningTasks);
     }
 
     public void bind(StatusLabelVM vm) {
         this.status.textProperty().bind(vm.text());
+        this.runningTasks.textProperty().bind(vm.runningTasks());
     }
 
     public Node getRoot() {
-        return this.status;
+        return this.root;
     }
 }
@@ -20,6 +20,7 @@ public final class RubricConfigurationVM {
     private final BooleanProperty hideScoreTotal;
     private final BooleanProperty syncPoints;
     private final BooleanProperty decodeHtml;
+    private final BooleanProperty reuseExisting;
 
     private final BooleanProperty previewButtonVisible;
     private final BooleanProperty backBtnVisible;
@@ -60,6 +61,10 @@ public final class RubricConfigurationVM {
         return decodeHtml;
     }
 
+    public BooleanProperty reuseExisting() {
+        return reuseExisting;
+    }
+
     public BooleanProperty previewButtonVisible() {
         return previewButtonVisible;
     }
@@ -80,6 +85,7 @@ public final class RubricConfigurationVM {
         this.hideScoreTotal = new SimpleBooleanProperty();
         this.syncPoints = new SimpleBooleanProperty();
         this.decodeHtml = new SimpleBooleanProperty();
+        this.reuseExisting = new SimpleBooleanProperty();
 
         this.previewButtonVisible = new SimpleBooleanProperty();
         this.backBtnVisible = new SimpleBooleanProperty();
@@ -8,13 +8,20 @@ import javafx.beans.property.StringProperty;
 @Singleton
 public final class StatusLabelVM {
     private final StringProperty text;
+    private final StringProperty runningTasks;
 
     @Inject
     public StatusLabelVM() {
         this.text = new SimpleStringProperty();
+        this.runningTasks = new SimpleStringProperty("");
     }
 
     public StringProperty text() {
         return text;
     }
+
+    // Names of the background tasks currently running, empty when there are none.
+    public StringProperty runningTasks() {
+        return runningTasks;
+    }
 }
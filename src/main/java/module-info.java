@@ -19,6 +19,11 @@ module io.github.eslam_allam.canvas {
     exports io.github.eslam_allam.canvas.notification;
     exports io.github.eslam_allam.canvas.view.component;
     exports io.github.eslam_allam.canvas.constant;
+    exports io.github.eslam_allam.canvas.task;
+    exports io.github.eslam_allam.canvas.rubric.importing;
+
+    // Additional rubric input formats
+    uses io.github.eslam_allam.canvas.rubric.importing.RubricSource;
 
     // JavaFX modules
     requires javafx.base;
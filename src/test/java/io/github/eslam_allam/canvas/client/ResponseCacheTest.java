@@ -0,0 +1,79 @@
+package io.github.eslam_allam.canvas.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsEntriesAcrossReopen() {
+        ResponseCache cache = ResponseCache.open(new ResponseCacheSettings(this.dir, 10, 1 << 20));
+        cache.store("k", new ResponseCache.CachedResponse("\"v1\"", null, "<next>; rel=\"next\"", bytes("body")));
+
+        ResponseCache.CachedResponse cached = ResponseCache.open(new ResponseCacheSettings(this.dir, 10, 1 << 20))
+                .lookup("k")
+                .orElseThrow();
+        assertEquals("\"v1\"", cached.etag());
+        assertNull(cached.lastModified());
+        assertEquals("<next>; rel=\"next\"", cached.linkHeader());
+        assertArrayEquals(bytes("body"), cached.body());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ResponseCache cache = ResponseCache.open(new ResponseCacheSettings(this.dir, 2, 1 << 20));
+        cache.store("a", response("a"));
+        cache.store("b", response("b"));
+        assertTrue(cache.lookup("a").isPresent());
+        cache.store("c", response("c"));
+
+        assertTrue(cache.lookup("a").isPresent());
+        assertFalse(cache.lookup("b").isPresent());
+        assertTrue(cache.lookup("c").isPresent());
+    }
+
+    // A lookup racing a store must see one response whole: its validators, links and body together.
+    @Test
+    void neverPairsValidatorsWithAnotherBody() throws Exception {
+        ResponseCache cache = ResponseCache.open(new ResponseCacheSettings(this.dir, 10, 1 << 20));
+        cache.store("k", response("0"));
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int i = 1; i <= 50; i++) {
+                cache.store("k", response(Integer.toString(i)));
+            }
+        });
+        try {
+            while (writer.isAlive()) {
+                Optional<ResponseCache.CachedResponse> cached = cache.lookup("k");
+                if (cached.isPresent()) {
+                    String version = cached.get().etag();
+                    assertEquals("<" + version + ">; rel=\"next\"", cached.get().linkHeader());
+                    assertArrayEquals(bytes("body " + version), cached.get().body());
+                }
+            }
+        } finally {
+            writer.join();
+        }
+    }
+
+    private static ResponseCache.CachedResponse response(String version) {
+        return new ResponseCache.CachedResponse(
+                version, null, "<" + version + ">; rel=\"next\"", bytes("body " + version));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.eslam_allam.canvas.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Runs the deduplicator against a local stand-in for Canvas that lists one rubric with free-form comments off.
+class RubricDeduplicatorTest {
+
+    private static final String LISTED_RUBRIC = """
+            [{"id": 7, "title": "Existing", "free_form_criterion_comments": false, "data": [
+              {"description": "Quality", "long_description": "", "points": 5,
+               "ratings": [{"description": "Full", "points": 5, "long_description": "All there"},
+                           {"description": "None", "points": 0, "long_description": "Missing"}]}]}]
+            """;
+
+    private static final List<RubricModels.Criterion> CRITERIA = List.of(new RubricModels.Criterion(
+            "Quality",
+            "",
+            5.0,
+            List.of(
+                    new RubricModels.Rating("", "Full", 5.0, "All there"),
+                    new RubricModels.Rating("", "None", 0.0, "Missing"))));
+
+    private HttpServer server;
+    private List<String> posts;
+    private CanvasClient client;
+
+    @BeforeEach
+    void startCanvas() throws IOException {
+        this.posts = new CopyOnWriteArrayList<>();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/api/v1/courses/1/rubrics", exchange -> {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, LISTED_RUBRIC);
+                return;
+            }
+            this.posts.add("rubrics");
+            respond(exchange, """
+                    {"rubric": {"title": "New"},
+                     "rubric_association": {"id": 11, "rubric_id": 8, "association_id": 3}}
+                    """);
+        });
+        this.server.createContext("/api/v1/courses/1/rubric_associations", exchange -> {
+            this.posts.add("rubric_associations");
+            respond(exchange, """
+                    {"rubric_association": {"id": 12, "rubric_id": 7, "association_id": 3}}
+                    """);
+        });
+        this.server.start();
+        String baseUrl = "http://127.0.0.1:" + this.server.getAddress().getPort();
+        this.client = new CanvasClient(new CanvasCredentialProvider() {
+            @Override
+            public String loadBaseUrl() {
+                return baseUrl;
+            }
+
+            @Override
+            public String loadToken() {
+                return "token";
+            }
+        });
+    }
+
+    @AfterEach
+    void stopCanvas() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void reusesRubricWithSameCriteriaAndSetting() throws Exception {
+        RubricDeduplicator.Outcome outcome = new RubricDeduplicator(this.client).create("1", CRITERIA, fields(false));
+
+        assertTrue(outcome.reused());
+        assertEquals("Existing", outcome.created().rubric().title());
+        assertEquals(List.of("rubric_associations"), this.posts);
+    }
+
+    @Test
+    void createsRubricWhenOnlyFreeFormCommentsDiffer() throws Exception {
+        RubricDeduplicator deduplicator = new RubricDeduplicator(this.client);
+
+        RubricDeduplicator.Outcome first = deduplicator.create("1", CRITERIA, fields(true));
+        RubricDeduplicator.Outcome second = deduplicator.create("1", CRITERIA, fields(true));
+
+        assertFalse(first.reused());
+        assertTrue(second.reused());
+        assertEquals(List.of("rubrics", "rubric_associations"), this.posts);
+    }
+
+    private Map<String, String> fields(boolean freeFormComments) {
+        return this.client.buildFormFieldsForRubricCreate(
+                "Typed title", freeFormComments, CRITERIA, 3, true, false, "grading");
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.EntityArrays;
+import org.junit.jupiter.api.Test;
+
+// HtmlEntityDecoder must produce exactly what StringEscapeUtils.unescapeHtml4 does for any input.
+class HtmlEntityDecoderTest {
+
+    private static final List<String> GOLDEN = List.of(
+            "",
+            "plain text without entities",
+            "&",
+            "&&",
+            "& ;",
+            "&;",
+            "Tom &amp; Jerry",
+            "&lt;p&gt;Good&lt;/p&gt;",
+            "&quot;quoted&quot; &apos;single&apos;",
+            "caf&eacute; na&iuml;ve &Eacute;cole",
+            "&nbsp;&copy;&reg;&trade;&euro;&hellip;",
+            "&amp;amp; double encoded",
+            "&AMP; upper case",
+            "&amp missing semicolon",
+            "&ampx; unknown suffix",
+            "&lt&gt run together",
+            "&notit; longest prefix",
+            "&not; &notin;",
+            "&unknown; entity",
+            "&#65;&#66;&#67;",
+            "&#x41;&#X42;&#x4a;&#x4A;",
+            "&#0065; leading zeros",
+            "&#65 missing semicolon",
+            "&#x41 missing semicolon",
+            "&#; empty",
+            "&#x; empty hex",
+            "&#x",
+            "&#",
+            "&#6",
+            "&#65",
+            "&#xZZ; not hex",
+            "&#-1; negative",
+            "&# 65; space",
+            "&#128512; astral",
+            "&#x1F600; astral hex",
+            "&#x10FFFF; max code point",
+            "&#99999999999; overflow",
+            "&#xFFFFFFFFF; hex overflow",
+            "&#0; nul",
+            "&#xD800; lone surrogate",
+            "text ending with &",
+            "text ending with &#",
+            "text ending with &amp",
+            "mixed &amp;&#38;&#x26; ampersands",
+            "&&amp;&",
+            "&&#65;;");
+
+    @Test
+    void matchesCommonsTextOnGoldenCorpus() {
+        for (String input : GOLDEN) {
+            assertDecodesLikeCommonsText(input);
+        }
+    }
+
+    @Test
+    void matchesCommonsTextOnEveryNamedEntity() {
+        for (Map<CharSequence, CharSequence> table : List.of(
+                EntityArrays.BASIC_UNESCAPE, EntityArrays.ISO8859_1_UNESCAPE, EntityArrays.HTML40_EXTENDED_UNESCAPE)) {
+            for (CharSequence entity : table.keySet()) {
+                String name = entity.toString();
+                String bare = name.substring(0, name.length() - 1);
+                assertDecodesLikeCommonsText(name);
+                assertDecodesLikeCommonsText("a" + name + "b");
+                assertDecodesLikeCommonsText(bare);
+                assertDecodesLikeCommonsText(bare + " b");
+                assertDecodesLikeCommonsText(name + name);
+                assertDecodesLikeCommonsText(name.toUpperCase(Locale.ROOT));
+            }
+        }
+    }
+
+    @Test
+    void matchesCommonsTextOnRandomEntityLikeText() {
+        String[] pieces = {
+            "&", "#", "x", "X", ";", "amp", "lt", "gt", "not", "in", "eacute", "6", "5", "0", "1F6", "zz", " ", "a",
+            "é", "😀"
+        };
+        Random random = new Random(20260101L);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                input.append(pieces[random.nextInt(pieces.length)]);
+            }
+            assertDecodesLikeCommonsText(input.toString());
+        }
+    }
+
+    @Test
+    void returnsInputWithoutAmpersandUnchanged() {
+        String input = "no entities here";
+        assertSame(input, HtmlEntityDecoder.decode(input));
+        assertNull(HtmlEntityDecoder.decode(null));
+    }
+
+    private static void assertDecodesLikeCommonsText(String input) {
+        assertEquals(
+                outcome(() -> StringEscapeUtils.unescapeHtml4(input)),
+                outcome(() -> HtmlEntityDecoder.decode(input)),
+                () -> "input: " + input);
+    }
+
+    // Exceptions count as output too, so both must fail on the same inputs.
+    private static String outcome(Supplier<String> decoder) {
+        try {
+            return decoder.get();
+        } catch (RuntimeException ex) {
+            return "threw " + ex.getClass().getName();
+        }
+    }
+}
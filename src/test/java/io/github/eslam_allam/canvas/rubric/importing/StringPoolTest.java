@@ -0,0 +1,81 @@
+package io.github.eslam_allam.canvas.rubric.importing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.csv.CsvRubricParser;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+// Rating text repeated across rows is retained once per distinct value when the pool is on, and once per cell
+// when it is off.
+class StringPoolTest {
+
+    private static final int ROWS = 500;
+
+    @Test
+    void poolsRatingTextAcrossRows() throws IOException {
+        List<RubricModels.Criterion> criteria = parse(RubricParseOptions.of(true));
+
+        RubricModels.Rating first = criteria.getFirst().ratings().getFirst();
+        for (RubricModels.Criterion criterion : criteria) {
+            RubricModels.Rating rating = criterion.ratings().getFirst();
+            assertSame(first.description(), rating.description());
+            assertSame(first.longDescription(), rating.longDescription());
+        }
+        // Two ratings with a name and a description each: four distinct values.
+        assertEquals(4, retainedStrings(criteria));
+    }
+
+    @Test
+    void keepsOneStringPerCellWithoutPool() throws IOException {
+        List<RubricModels.Criterion> criteria = parse(new RubricParseOptions(true, false));
+
+        assertEquals(ROWS * 4, retainedStrings(criteria));
+    }
+
+    @Test
+    void returnsFirstInstanceForEqualValues() {
+        StringPool pool = StringPool.create();
+        String value = new String("Full marks");
+
+        assertSame(value, pool.canonical(value));
+        assertSame(value, pool.canonical(new String("Full marks")));
+        assertEquals(1, pool.size());
+        assertSame(value, StringPool.disabled().canonical(value));
+        assertEquals(0, StringPool.disabled().size());
+    }
+
+    private static List<RubricModels.Criterion> parse(RubricParseOptions options) throws IOException {
+        StringBuilder csv = new StringBuilder(
+                "criterion,criterion_desc,rating1,rating1_points,rating1_desc,rating2,rating2_points,rating2_desc\n");
+        for (int row = 0; row < ROWS; row++) {
+            csv.append("Criterion ")
+                    .append(row)
+                    .append(",,Full marks,5,Meets every requirement,No marks,0,Does not meet the requirements\n");
+        }
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        RubricParseReport report = CsvRubricParser.parse(new StringReader(csv.toString()), options, criteria::add);
+        assertEquals(ROWS, report.criteriaCount());
+        return criteria;
+    }
+
+    // Distinct String objects held by the ratings' names and descriptions.
+    private static int retainedStrings(List<RubricModels.Criterion> criteria) {
+        Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RubricModels.Criterion criterion : criteria) {
+            for (RubricModels.Rating rating : criterion.ratings()) {
+                strings.add(rating.description());
+                strings.add(rating.longDescription());
+            }
+        }
+        return strings.size();
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricValidationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// The bulk parser must report exactly what CsvRubricParser reports for the same file, wherever its chunks end.
+class BulkCsvRubricParserTest {
+
+    private static final List<String> LINE_BREAKS = List.of("\n", "\r\n", "\r");
+
+    private static final String HEADER =
+            "criterion,criterion_desc,rating1,rating1_points,rating1_desc,rating2,rating2_points,rating2_desc";
+
+    // {NL} is replaced by the file's line break, including inside quoted fields.
+    private static final List<String> ROWS = List.of(
+            "Quality,Overall quality,Full,5,All there,None,0,Missing",
+            "\"Multi{NL}line name\",\"desc with \"\"quotes\"\", and comma\",Full,3,\"Good{NL}work\",None,0,Nothing",
+            "",
+            ",no name,Full,5,x,None,0,y",
+            "Points,,Full,abc,x,None,0,y",
+            "",
+            "",
+            "NoZero,,Full,5,x,Half,2,y",
+            "MissingDesc,,Full,5,,None,0,y",
+            "\"Quoted only\",d,\"A\",4,\"{NL}{NL}leading breaks\",B,0,\"b\"",
+            "Last,\"\",Full,1.5,\"ends, with comma\",None,0,z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void matchesSequentialParserAtEveryChunkSize() throws IOException {
+        for (String lineBreak : LINE_BREAKS) {
+            for (boolean leadingBlank : List.of(false, true)) {
+                for (boolean trailingBreak : List.of(false, true)) {
+                    Path csv = write(lineBreak, ROWS, leadingBlank, trailingBreak);
+                    Parse expected = sequential(csv, false);
+                    assertFalse(expected.report().errors().isEmpty());
+                    for (long chunkBytes = 1; chunkBytes <= Files.size(csv); chunkBytes++) {
+                        String label = describe(lineBreak, leadingBlank, trailingBreak) + ", chunk " + chunkBytes;
+                        Parse actual = bulk(csv, false, chunkBytes);
+                        assertEquals(expected.criteria(), actual.criteria(), label);
+                        assertEquals(expected.report(), actual.report(), label);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void failsFastOnTheSameRow() throws IOException {
+        for (String lineBreak : LINE_BREAKS) {
+            Path csv = write(lineBreak, ROWS, false, true);
+            RubricValidationException expected =
+                    assertThrows(RubricValidationException.class, () -> sequential(csv, true));
+            for (long chunkBytes = 1; chunkBytes <= Files.size(csv); chunkBytes += 7) {
+                long size = chunkBytes;
+                RubricValidationException actual =
+                        assertThrows(RubricValidationException.class, () -> bulk(csv, true, size));
+                assertEquals(expected.errors(), actual.errors(), lineBreak.replace("\r", "CR") + ", chunk " + size);
+            }
+        }
+    }
+
+    @Test
+    void stopsAtTheSameMalformedRecord() throws IOException {
+        List<String> rows = new ArrayList<>(ROWS);
+        rows.add(5, "\"Broken\"x,d,Full,5,a,None,0,b");
+        for (String lineBreak : LINE_BREAKS) {
+            Path csv = write(lineBreak, rows, false, true);
+            List<RubricModels.Criterion> expected = new ArrayList<>();
+            RuntimeException expectedFailure = assertThrows(RuntimeException.class, () -> CsvRubricParser.parse(
+                    Files.newBufferedReader(csv, StandardCharsets.UTF_8), options(false), expected::add));
+            for (long chunkBytes = 1; chunkBytes <= Files.size(csv); chunkBytes++) {
+                long size = chunkBytes;
+                List<RubricModels.Criterion> actual = new ArrayList<>();
+                RuntimeException actualFailure = assertThrows(
+                        RuntimeException.class,
+                        () -> BulkCsvRubricParser.parse(csv, options(false), actual::add, size));
+                assertEquals(expectedFailure.getClass(), actualFailure.getClass());
+                assertEquals(expected, actual, lineBreak.replace("\r", "CR") + ", chunk " + size);
+            }
+        }
+    }
+
+    private record Parse(List<RubricModels.Criterion> criteria, RubricParseReport report) {}
+
+    private static Parse sequential(Path csv, boolean failFast) throws IOException {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            return new Parse(criteria, CsvRubricParser.parse(reader, options(failFast), criteria::add));
+        }
+    }
+
+    private static Parse bulk(Path csv, boolean failFast, long chunkBytes) throws IOException {
+        List<RubricModels.Criterion> criteria = new ArrayList<>();
+        return new Parse(criteria, BulkCsvRubricParser.parse(csv, options(failFast), criteria::add, chunkBytes));
+    }
+
+    private static RubricParseOptions options(boolean failFast) {
+        return new RubricParseOptions(true, failFast);
+    }
+
+    private Path write(String lineBreak, List<String> rows, boolean leadingBlank, boolean trailingBreak)
+            throws IOException {
+        StringBuilder text = new StringBuilder();
+        if (leadingBlank) {
+            text.append(lineBreak).append(lineBreak);
+        }
+        text.append(HEADER);
+        for (String row : rows) {
+            text.append(lineBreak).append(row.replace("{NL}", lineBreak));
+        }
+        if (trailingBreak) {
+            text.append(lineBreak);
+        }
+        Path csv = this.dir.resolve("rubric-" + System.nanoTime() + ".csv");
+        Files.writeString(csv, text, StandardCharsets.UTF_8);
+        return csv;
+    }
+
+    private static String describe(String lineBreak, boolean leadingBlank, boolean trailingBreak) {
+        return lineBreak.replace("\r", "CR").replace("\n", "LF")
+                + (leadingBlank ? ", leading blank lines" : "")
+                + (trailingBreak ? ", trailing break" : "");
+    }
+}
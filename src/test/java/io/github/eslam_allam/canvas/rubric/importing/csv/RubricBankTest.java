@@ -0,0 +1,121 @@
+package io.github.eslam_allam.canvas.rubric.importing.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseOptions;
+import io.github.eslam_allam.canvas.rubric.importing.RubricParseReport;
+import io.github.eslam_allam.canvas.rubric.importing.RubricRowError;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A slice read through the index must match parsing the whole CSV and keeping the criteria with matching names.
+class RubricBankTest {
+
+    private static final String HEADER =
+            "criterion,criterion_desc,rating1,rating1_points,rating1_desc,rating2,rating2_points,rating2_desc\n";
+
+    private static final String ROWS = """
+            CS101-Style,Readable code,Full,5,Clean,None,0,Messy
+            CS102-Style,Other course,Full,5,Clean,None,0,Messy
+
+            CS101-Tests,"Covers the
+            edge cases",Full,4,"All ""edge"" cases",None,0,None
+            CS101-Broken,,Full,abc,x,None,0,y
+            CS102-Broken,,Full,abc,x,None,0,y
+            CS101-NoZero,,Full,5,x,Half,2,y
+            CS101-Docs,,Full,2,Documented,None,0,Undocumented
+            """;
+
+    private static final String GLOB = "CS101-*";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sliceMatchesFilteredFullParse() throws IOException {
+        Path csv = this.dir.resolve("bank.csv");
+        Files.writeString(csv, HEADER + ROWS, StandardCharsets.UTF_8);
+
+        RubricBank bank = RubricBank.open(csv);
+        assertTrue(Files.exists(RubricBank.indexPath(csv)));
+        assertSliceMatches(csv, bank);
+        assertSliceMatches(csv, RubricBank.open(csv));
+    }
+
+    @Test
+    void rebuildsIndexWhenCsvChangesAfterOpen() throws IOException {
+        Path csv = this.dir.resolve("bank.csv");
+        Files.writeString(csv, HEADER + ROWS, StandardCharsets.UTF_8);
+        RubricBank bank = RubricBank.open(csv);
+        assertSliceMatches(csv, bank);
+
+        // A new first row moves every offset the index holds.
+        Files.writeString(csv, HEADER + "CS101-Intro,,Full,1,Hello,None,0,Bye\n" + ROWS, StandardCharsets.UTF_8);
+        assertSliceMatches(csv, bank);
+        assertTrue(bank.names().contains("CS101-Intro"));
+
+        // Same size, and likely the same modification time: only the content tells.
+        Files.writeString(
+                csv,
+                HEADER + "CS101-Outro,,Full,1,Hello,None,0,Bye\n" + ROWS,
+                StandardCharsets.UTF_8);
+        assertSliceMatches(csv, bank);
+        assertFalse(bank.names().contains("CS101-Intro"));
+        assertTrue(RubricBank.open(csv).names().contains("CS101-Outro"));
+    }
+
+    private static void assertSliceMatches(Path csv, RubricBank bank) throws IOException {
+        RubricParseOptions options = new RubricParseOptions(true, false);
+
+        List<RubricModels.Criterion> all = new ArrayList<>();
+        RubricParseReport full;
+        try (Reader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            full = CsvRubricParser.parse(reader, options, all::add);
+        }
+        Set<Integer> sliceRows = rowsNamed(csv);
+        List<RubricModels.Criterion> expected =
+                all.stream().filter(c -> c.name().startsWith("CS101-")).toList();
+        List<RubricRowError> expectedErrors = full.errors().stream()
+                .filter(error -> sliceRows.contains(error.row()))
+                .toList();
+
+        List<RubricModels.Criterion> actual = new ArrayList<>();
+        RubricParseReport slice = bank.parse(GLOB, options, actual::add);
+
+        assertEquals(expected, actual);
+        assertEquals(expectedErrors, slice.errors());
+        assertFalse(slice.errors().isEmpty());
+        assertEquals(expected.size(), slice.criteriaCount());
+    }
+
+    // Rows numbered as CsvRubricParser numbers them: the header is row 1 and blank lines are not rows.
+    private static Set<Integer> rowsNamed(Path csv) throws IOException {
+        Set<Integer> rows = new HashSet<>();
+        try (Reader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+                CSVParser parser = CsvRubricParser.withHeader(CSVFormat.DEFAULT).parse(reader)) {
+            int row = 1;
+            for (CSVRecord record : parser) {
+                row++;
+                if (record.get("criterion").startsWith("CS101-")) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+}
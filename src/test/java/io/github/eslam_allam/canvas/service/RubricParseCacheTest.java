@@ -0,0 +1,70 @@
+package io.github.eslam_allam.canvas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.github.eslam_allam.canvas.model.canvas.RubricModels;
+import io.github.eslam_allam.canvas.rubric.importing.ParsedRubric;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RubricParseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    @Test
+    void reusesParseOfUnchangedFile() throws IOException {
+        Path file = write("A");
+        RubricParseCache cache = new RubricParseCache(4);
+
+        ParsedRubric first = cache.get(file, true, this::parse);
+        assertSame(first, cache.get(file, true, this::parse));
+        assertEquals(1, this.parses.get());
+
+        Files.writeString(file, "B", StandardCharsets.UTF_8);
+        assertEquals("B", name(cache.get(file, true, this::parse)));
+        assertEquals(2, this.parses.get());
+    }
+
+    // An edit between hashing and parsing must not leave the new content cached under the old content's hash,
+    // or restoring the old content would bring back the wrong parse.
+    @Test
+    void doesNotCacheParseOfContentEditedAfterHashing() throws IOException {
+        Path file = write("A");
+        RubricParseCache cache = new RubricParseCache(4);
+
+        ParsedRubric edited = cache.get(file, true, (path, decodeHtml) -> {
+            Files.writeString(path, "B", StandardCharsets.UTF_8);
+            return parse(path, decodeHtml);
+        });
+        assertEquals("B", name(edited));
+
+        Files.writeString(file, "A", StandardCharsets.UTF_8);
+        assertEquals("A", name(cache.get(file, true, this::parse)));
+    }
+
+    private ParsedRubric parse(Path path, boolean decodeHtml) throws IOException {
+        this.parses.incrementAndGet();
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        return new ParsedRubric(List.of(new RubricModels.Criterion(content, "", 1.0, List.of())), 1.0);
+    }
+
+    private static String name(ParsedRubric parsed) {
+        return parsed.criteria().getFirst().name();
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = this.dir.resolve("rubric.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}